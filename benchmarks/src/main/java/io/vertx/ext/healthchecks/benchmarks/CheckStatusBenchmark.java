@@ -0,0 +1,60 @@
+package io.vertx.ext.healthchecks.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates synthetic trees of procedures completing immediately, the cost measured is the cost of the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckStatusBenchmark {
+
+  @Param({"10", "100"})
+  public int width;
+
+  @Param({"1", "4"})
+  public int depth;
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private String group;
+  private String procedure;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    healthChecks = HealthChecks.create(vertx);
+    Trees.register(healthChecks, width, depth);
+    group = depth > 1 ? Trees.group(1) : "/";
+    procedure = Trees.deepestProcedure(depth);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public CheckResult checkStatus() {
+    return healthChecks.checkStatus().await();
+  }
+
+  @Benchmark
+  public CheckResult checkStatusOfGroup() {
+    return healthChecks.checkStatus(group).await();
+  }
+
+  @Benchmark
+  public CheckResult checkStatusOfProcedure() {
+    return healthChecks.checkStatus(procedure).await();
+  }
+}
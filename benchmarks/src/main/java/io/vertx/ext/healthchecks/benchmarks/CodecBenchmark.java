@@ -0,0 +1,76 @@
+package io.vertx.ext.healthchecks.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.impl.CheckResultCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary codec of the results with the JSON form sent on the event bus: on the wire (clustered
+ * delivery) and in memory (local delivery, where the JSON form is copied).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+  @Param({"10", "100"})
+  public int width;
+
+  @Param({"1", "4"})
+  public int depth;
+
+  private final CheckResultCodec codec = new CheckResultCodec();
+  private CheckResult result;
+  private JsonObject json;
+  private Buffer binaryWire;
+  private Buffer jsonWire;
+
+  @Setup
+  public void setup() {
+    result = Trees.result(width, depth);
+    json = result.toJson();
+    binaryWire = Buffer.buffer();
+    codec.encodeToWire(binaryWire, result);
+    jsonWire = json.toBuffer();
+  }
+
+  @Benchmark
+  public Buffer binaryEncode() {
+    Buffer buffer = Buffer.buffer(256);
+    codec.encodeToWire(buffer, result);
+    return buffer;
+  }
+
+  @Benchmark
+  public Buffer jsonEncode() {
+    return result.toJson().toBuffer();
+  }
+
+  @Benchmark
+  public CheckResult binaryDecode() {
+    return codec.decodeFromWire(0, binaryWire);
+  }
+
+  @Benchmark
+  public CheckResult jsonDecode() {
+    return new CheckResult(new JsonObject(jsonWire));
+  }
+
+  @Benchmark
+  public CheckResult binaryLocal() {
+    return codec.transform(result);
+  }
+
+  @Benchmark
+  public JsonObject jsonLocal() {
+    // The default JSON codec copies the object for local deliveries
+    return result.toJson().copy();
+  }
+}
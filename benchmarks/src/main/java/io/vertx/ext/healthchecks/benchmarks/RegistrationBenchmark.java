@@ -0,0 +1,67 @@
+package io.vertx.ext.healthchecks.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registers and unregisters procedures from several threads, next to a populated tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RegistrationBenchmark {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    String sharedGroupProcedure;
+    String ownGroupProcedure;
+
+    @Setup
+    public void setup() {
+      int id = IDS.getAndIncrement();
+      sharedGroupProcedure = "shared/procedure-" + id;
+      ownGroupProcedure = "thread-" + id + "/procedure";
+    }
+  }
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    healthChecks = HealthChecks.create(vertx);
+    Trees.register(healthChecks, 100, 2);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public HealthChecks registerAndUnregisterInSharedGroup(ThreadState state) {
+    return healthChecks
+      .register(state.sharedGroupProcedure, promise -> promise.complete(Status.OK()))
+      .unregister(state.sharedGroupProcedure);
+  }
+
+  @Benchmark
+  public HealthChecks registerAndUnregisterInOwnGroup(ThreadState state) {
+    return healthChecks
+      .register(state.ownGroupProcedure, promise -> promise.complete(Status.OK()))
+      .unregister(state.ownGroupProcedure);
+  }
+}
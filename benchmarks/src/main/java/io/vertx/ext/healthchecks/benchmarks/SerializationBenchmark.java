@@ -0,0 +1,48 @@
+package io.vertx.ext.healthchecks.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a result tree, the encoded form is what the health check handlers send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+  @Param({"10", "100"})
+  public int width;
+
+  @Param({"1", "4"})
+  public int depth;
+
+  private CheckResult result;
+
+  @Setup
+  public void setup() {
+    result = Trees.result(width, depth);
+  }
+
+  @Benchmark
+  public JsonObject toJson() {
+    return result.toJson();
+  }
+
+  @Benchmark
+  public Buffer toJsonAndEncode() {
+    return result.toJson().toBuffer();
+  }
+
+  @Benchmark
+  public Buffer writeTo() {
+    return result.writeTo(Buffer.buffer(256));
+  }
+}
@@ -0,0 +1,69 @@
+package io.vertx.ext.healthchecks.benchmarks;
+
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds synthetic trees: each level is a group of {@code width} procedures and a nested group, down to
+ * {@code depth} levels.
+ */
+final class Trees {
+
+  private Trees() {
+  }
+
+  /**
+   * @return the path of the group at the given level, {@code ""} for the root
+   */
+  static String group(int level) {
+    StringBuilder path = new StringBuilder();
+    for (int i = 1; i <= level; i++) {
+      if (i > 1) {
+        path.append('/');
+      }
+      path.append("level-").append(i);
+    }
+    return path.toString();
+  }
+
+  /**
+   * @return the path of a procedure of the deepest group
+   */
+  static String deepestProcedure(int depth) {
+    String group = group(depth - 1);
+    return group.isEmpty() ? "procedure-0" : group + "/procedure-0";
+  }
+
+  static void register(HealthChecks healthChecks, int width, int depth) {
+    for (int level = 0; level < depth; level++) {
+      String group = group(level);
+      for (int i = 0; i < width; i++) {
+        String name = group.isEmpty() ? "procedure-" + i : group + "/procedure-" + i;
+        healthChecks.register(name, promise -> promise.complete(Status.OK()));
+      }
+    }
+  }
+
+  static CheckResult result(int width, int depth) {
+    CheckResult nested = null;
+    for (int level = depth - 1; level >= 0; level--) {
+      List<CheckResult> checks = new ArrayList<>(width + 1);
+      for (int i = 0; i < width; i++) {
+        Status status = i % 10 == 0
+          ? Status.OK(new JsonObject().put("available-memory", "2mb").put("load", 0.5))
+          : Status.OK();
+        checks.add(CheckResult.from("procedure-" + i, status));
+      }
+      if (nested != null) {
+        checks.add(nested.setId("level-" + (level + 1)));
+      }
+      nested = new CheckResult().setChecks(checks);
+    }
+    return nested;
+  }
+}
@@ -0,0 +1,61 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.healthchecks.ClusterHealthChecksOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.healthchecks.ClusterHealthChecksOptions} original class using Vert.x codegen.
+ */
+public class ClusterHealthChecksOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ClusterHealthChecksOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "address":
+          if (member.getValue() instanceof String) {
+            obj.setAddress((String)member.getValue());
+          }
+          break;
+        case "nodeId":
+          if (member.getValue() instanceof String) {
+            obj.setNodeId((String)member.getValue());
+          }
+          break;
+        case "heartbeatInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setHeartbeatInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "nodeTimeout":
+          if (member.getValue() instanceof Number) {
+            obj.setNodeTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "cacheTtl":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheTtl(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ClusterHealthChecksOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ClusterHealthChecksOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getAddress() != null) {
+      json.put("address", obj.getAddress());
+    }
+    if (obj.getNodeId() != null) {
+      json.put("nodeId", obj.getNodeId());
+    }
+    json.put("heartbeatInterval", obj.getHeartbeatInterval());
+    json.put("nodeTimeout", obj.getNodeTimeout());
+    json.put("cacheTtl", obj.getCacheTtl());
+  }
+}
@@ -0,0 +1,89 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.healthchecks.GroupOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.healthchecks.GroupOptions} original class using Vert.x codegen.
+ */
+public class GroupOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, GroupOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "cacheTtl":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheTtl(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "failFast":
+          if (member.getValue() instanceof Boolean) {
+            obj.setFailFast((Boolean)member.getValue());
+          }
+          break;
+        case "cheapestFirst":
+          if (member.getValue() instanceof Boolean) {
+            obj.setCheapestFirst((Boolean)member.getValue());
+          }
+          break;
+        case "maxConcurrency":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxConcurrency(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "timeout":
+          if (member.getValue() instanceof Number) {
+            obj.setTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "workerPoolName":
+          if (member.getValue() instanceof String) {
+            obj.setWorkerPoolName((String)member.getValue());
+          }
+          break;
+        case "workerPoolSize":
+          if (member.getValue() instanceof Number) {
+            obj.setWorkerPoolSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "maxWorkerQueueSize":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxWorkerQueueSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "shards":
+          if (member.getValue() instanceof Number) {
+            obj.setShards(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "shardThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setShardThreshold(((Number)member.getValue()).intValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(GroupOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(GroupOptions obj, java.util.Map<String, Object> json) {
+    json.put("cacheTtl", obj.getCacheTtl());
+    json.put("failFast", obj.isFailFast());
+    json.put("cheapestFirst", obj.isCheapestFirst());
+    json.put("maxConcurrency", obj.getMaxConcurrency());
+    json.put("timeout", obj.getTimeout());
+    if (obj.getWorkerPoolName() != null) {
+      json.put("workerPoolName", obj.getWorkerPoolName());
+    }
+    json.put("workerPoolSize", obj.getWorkerPoolSize());
+    json.put("maxWorkerQueueSize", obj.getMaxWorkerQueueSize());
+    json.put("shards", obj.getShards());
+    json.put("shardThreshold", obj.getShardThreshold());
+  }
+}
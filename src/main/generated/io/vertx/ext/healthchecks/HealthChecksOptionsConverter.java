@@ -0,0 +1,63 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.healthchecks.HealthChecksOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.healthchecks.HealthChecksOptions} original class using Vert.x codegen.
+ */
+public class HealthChecksOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, HealthChecksOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "backgroundEvaluation":
+          if (member.getValue() instanceof Boolean) {
+            obj.setBackgroundEvaluation((Boolean)member.getValue());
+          }
+          break;
+        case "refreshInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setRefreshInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "failFast":
+          if (member.getValue() instanceof Boolean) {
+            obj.setFailFast((Boolean)member.getValue());
+          }
+          break;
+        case "latencyInResults":
+          if (member.getValue() instanceof Boolean) {
+            obj.setLatencyInResults((Boolean)member.getValue());
+          }
+          break;
+        case "contextAffinity":
+          if (member.getValue() instanceof Boolean) {
+            obj.setContextAffinity((Boolean)member.getValue());
+          }
+          break;
+        case "eventBusCodecs":
+          if (member.getValue() instanceof Boolean) {
+            obj.setEventBusCodecs((Boolean)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(HealthChecksOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(HealthChecksOptions obj, java.util.Map<String, Object> json) {
+    json.put("backgroundEvaluation", obj.isBackgroundEvaluation());
+    json.put("refreshInterval", obj.getRefreshInterval());
+    json.put("failFast", obj.isFailFast());
+    json.put("latencyInResults", obj.isLatencyInResults());
+    json.put("contextAffinity", obj.isContextAffinity());
+    json.put("eventBusCodecs", obj.isEventBusCodecs());
+  }
+}
@@ -0,0 +1,75 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.healthchecks.ProcedureOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.healthchecks.ProcedureOptions} original class using Vert.x codegen.
+ */
+public class ProcedureOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ProcedureOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "timeout":
+          if (member.getValue() instanceof Number) {
+            obj.setTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "cacheTtl":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheTtl(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "refreshInterval":
+          if (member.getValue() instanceof Number) {
+            obj.setRefreshInterval(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "breakerThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setBreakerThreshold(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "breakerBackoff":
+          if (member.getValue() instanceof Number) {
+            obj.setBreakerBackoff(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "adaptiveTimeoutMultiplier":
+          if (member.getValue() instanceof Number) {
+            obj.setAdaptiveTimeoutMultiplier(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "adaptiveTimeoutPercentile":
+          if (member.getValue() instanceof Number) {
+            obj.setAdaptiveTimeoutPercentile(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "minTimeout":
+          if (member.getValue() instanceof Number) {
+            obj.setMinTimeout(((Number)member.getValue()).longValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ProcedureOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ProcedureOptions obj, java.util.Map<String, Object> json) {
+    json.put("timeout", obj.getTimeout());
+    json.put("cacheTtl", obj.getCacheTtl());
+    json.put("refreshInterval", obj.getRefreshInterval());
+    json.put("breakerThreshold", obj.getBreakerThreshold());
+    json.put("breakerBackoff", obj.getBreakerBackoff());
+    json.put("adaptiveTimeoutMultiplier", obj.getAdaptiveTimeoutMultiplier());
+    json.put("adaptiveTimeoutPercentile", obj.getAdaptiveTimeoutPercentile());
+    json.put("minTimeout", obj.getMinTimeout());
+  }
+}
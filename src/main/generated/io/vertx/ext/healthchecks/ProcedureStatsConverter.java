@@ -0,0 +1,81 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.healthchecks.ProcedureStats}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.healthchecks.ProcedureStats} original class using Vert.x codegen.
+ */
+public class ProcedureStatsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, ProcedureStats obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "cacheHits":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheHits(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "cacheMisses":
+          if (member.getValue() instanceof Number) {
+            obj.setCacheMisses(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "evaluations":
+          if (member.getValue() instanceof Number) {
+            obj.setEvaluations(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "evaluationCallers":
+          if (member.getValue() instanceof Number) {
+            obj.setEvaluationCallers(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "latencyCount":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyCount(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "latencyP50":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyP50(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "latencyP90":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyP90(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "latencyP99":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyP99(((Number)member.getValue()).doubleValue());
+          }
+          break;
+        case "latencyMax":
+          if (member.getValue() instanceof Number) {
+            obj.setLatencyMax(((Number)member.getValue()).doubleValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(ProcedureStats obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(ProcedureStats obj, java.util.Map<String, Object> json) {
+    json.put("cacheHits", obj.getCacheHits());
+    json.put("cacheMisses", obj.getCacheMisses());
+    json.put("evaluations", obj.getEvaluations());
+    json.put("evaluationCallers", obj.getEvaluationCallers());
+    json.put("latencyCount", obj.getLatencyCount());
+    json.put("latencyP50", obj.getLatencyP50());
+    json.put("latencyP90", obj.getLatencyP90());
+    json.put("latencyP99", obj.getLatencyP99());
+    json.put("latencyMax", obj.getLatencyMax());
+  }
+}
@@ -0,0 +1,51 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converter and mapper for {@link io.vertx.ext.healthchecks.QueryOptions}.
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.healthchecks.QueryOptions} original class using Vert.x codegen.
+ */
+public class QueryOptionsConverter {
+
+   static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, QueryOptions obj) {
+    for (java.util.Map.Entry<String, Object> member : json) {
+      switch (member.getKey()) {
+        case "maxDepth":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxDepth(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "onlyDown":
+          if (member.getValue() instanceof Boolean) {
+            obj.setOnlyDown((Boolean)member.getValue());
+          }
+          break;
+        case "omitData":
+          if (member.getValue() instanceof Boolean) {
+            obj.setOmitData((Boolean)member.getValue());
+          }
+          break;
+        case "summaryOnly":
+          if (member.getValue() instanceof Boolean) {
+            obj.setSummaryOnly((Boolean)member.getValue());
+          }
+          break;
+      }
+    }
+  }
+
+   static void toJson(QueryOptions obj, JsonObject json) {
+    toJson(obj, json.getMap());
+  }
+
+   static void toJson(QueryOptions obj, java.util.Map<String, Object> json) {
+    json.put("maxDepth", obj.getMaxDepth());
+    json.put("onlyDown", obj.isOnlyDown());
+    json.put("omitData", obj.isOmitData());
+    json.put("summaryOnly", obj.isSummaryOnly());
+  }
+}
@@ -2,9 +2,20 @@ package examples;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.ClusterHealthChecks;
+import io.vertx.ext.healthchecks.ClusterHealthChecksOptions;
+import io.vertx.ext.healthchecks.GroupOptions;
 import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.HealthChecksOptions;
+import io.vertx.ext.healthchecks.ProcedureOptions;
+import io.vertx.ext.healthchecks.ProcedureStats;
+import io.vertx.ext.healthchecks.QueryOptions;
 import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.StatusReporter;
+
+import java.io.File;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -49,6 +60,122 @@ public class HealthCheckExamples {
     });
   }
 
+  public void blocking(HealthChecks healthChecks, File file) {
+    // Invoked on a virtual thread (or a worker thread), it can block
+    healthChecks.registerBlocking(
+      "disk",
+      2000,
+      () -> file.getUsableSpace() > 1_000_000 ? Status.OK() : Status.KO());
+  }
+
+  public void cache(HealthChecks healthChecks) {
+    // The result is reused for 5 seconds
+    healthChecks.register(
+      "my-procedure",
+      new ProcedureOptions().setCacheTtl(5000),
+      promise -> promise.complete(Status.OK()));
+
+    // Procedures of the group reuse their result for 10 seconds
+    healthChecks.configureGroup(
+      "a-group",
+      new GroupOptions().setCacheTtl(10000));
+    healthChecks.register("a-group/my-procedure-name", promise -> {
+      //....
+    });
+
+    ProcedureStats stats = healthChecks.stats("a-group");
+    long hits = stats.getCacheHits();
+    long misses = stats.getCacheMisses();
+  }
+
+  public void adaptiveTimeout(HealthChecks healthChecks) {
+    // The timeout is 3 times the 99th percentile of the recent latencies,
+    // between 20 ms and 2 seconds
+    healthChecks.register(
+      "my-procedure",
+      new ProcedureOptions()
+        .setAdaptiveTimeoutMultiplier(3)
+        .setAdaptiveTimeoutPercentile(99)
+        .setMinTimeout(20)
+        .setTimeout(2000),
+      promise -> {
+        //....
+      });
+  }
+
+  public void circuitBreaker(HealthChecks healthChecks) {
+    // After 3 consecutive failures, the procedure is skipped for 30 seconds
+    healthChecks.register(
+      "downstream",
+      new ProcedureOptions().setBreakerThreshold(3).setBreakerBackoff(30000),
+      promise -> {
+        //....
+      });
+  }
+
+  public void latencies(Vertx vertx) {
+    // Also report the latencies in the results
+    HealthChecks hc = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setLatencyInResults(true));
+
+    ProcedureStats stats = hc.stats("a-group/my-procedure-name");
+    double median = stats.getLatencyP50();
+    double p99 = stats.getLatencyP99();
+  }
+
+  public void background(Vertx vertx) {
+    HealthChecks hc = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setBackgroundEvaluation(true)
+      .setRefreshInterval(10000));
+
+    // Refreshed every 10 seconds
+    hc.register(
+      "my-procedure",
+      promise -> promise.complete(Status.OK()));
+
+    // Refreshed every second
+    hc.register(
+      "my-second-procedure",
+      new ProcedureOptions().setRefreshInterval(1000),
+      promise -> promise.complete(Status.OK()));
+  }
+
+  public void failFast(Vertx vertx) {
+    // Every group completes as soon as one of its procedures is down
+    HealthChecks hc = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setFailFast(true));
+
+    // Or only a given group, invoking the cheapest procedures first
+    hc.configureGroup(
+      "readiness",
+      new GroupOptions().setFailFast(true).setCheapestFirst(true));
+  }
+
+  public void maxConcurrency(HealthChecks healthChecks) {
+    // At most 10 procedures of the group are running at the same time
+    healthChecks.configureGroup(
+      "database",
+      new GroupOptions().setMaxConcurrency(10));
+  }
+
+  public void groupTimeout(HealthChecks healthChecks) {
+    // The evaluation of the group lasts at most 2 seconds
+    healthChecks.configureGroup(
+      "database",
+      new GroupOptions().setMaxConcurrency(10).setTimeout(2000));
+  }
+
+  public void workerPool(HealthChecks healthChecks) {
+    // The procedures of the group run on their own pool of 4 workers,
+    // at most 10 procedures wait for a worker
+    healthChecks.configureGroup(
+      "external",
+      new GroupOptions()
+        .setWorkerPoolName("external-checks")
+        .setWorkerPoolSize(4)
+        .setMaxWorkerQueueSize(10));
+  }
+
   static class SqlConnection {
     Future<Void> close() {
       return Future.succeededFuture();
@@ -82,11 +209,87 @@ public class HealthCheckExamples {
     );
   }
 
-  public void publishOnEventBus(Vertx vertx, HealthChecks healthChecks) {
+  public void publishOnEventBus(Vertx vertx) {
+    // Registers the event bus codecs of the results
+    HealthChecks healthChecks = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setEventBusCodecs(true));
+
     vertx.eventBus().consumer("health", message ->
       healthChecks.checkStatus()
         .onSuccess(message::reply)
         .onFailure(err -> message.fail(0, err.getMessage()))
     );
   }
+
+  public void writeToBuffer(HealthChecks healthChecks) {
+    healthChecks.checkStatus()
+      .map(result -> result.writeTo(Buffer.buffer()))
+      .onSuccess(buffer -> {
+        // Send the bytes, e.g. as the body of an HTTP response
+      });
+  }
+
+  public void cluster(Vertx vertx, HealthChecks healthChecks) {
+    ClusterHealthChecks cluster = ClusterHealthChecks.create(vertx, healthChecks, new ClusterHealthChecksOptions()
+      .setNodeId("node-1")
+      .setNodeTimeout(500));
+
+    cluster.checkStatus()
+      .onSuccess(result -> {
+        // One check per node, keyed by node id
+        System.out.println(result.toJson().encodePrettily());
+      });
+  }
+
+  public void subscribe(HealthChecks healthChecks) {
+    healthChecks.subscribe("database")
+      .handler(change -> {
+        // The id is the full path of the procedure, e.g. database/primary
+        System.out.println(change.getId() + " is now " + (change.getUp() ? "UP" : "DOWN"));
+      });
+  }
+
+  public void isUp(HealthChecks healthChecks) {
+    if (!healthChecks.isUp("/")) {
+      // At least one procedure was DOWN at its last evaluation
+    }
+    boolean databaseUp = healthChecks.isUp("database");
+  }
+
+  public void reporter(HealthChecks healthChecks) {
+    // DOWN if not reported during 10 seconds
+    StatusReporter reporter = healthChecks.registerReporter("kafka/consumer", 10000);
+
+    // When the consumer state changes
+    reporter.report(Status.OK());
+    reporter.report(Status.KO(new JsonObject().put("cause", "Disconnected")));
+  }
+
+  public void contextAffinity(Vertx vertx) {
+    HealthChecks healthChecks = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setContextAffinity(true));
+
+    // Procedures registered from a verticle are invoked on the context of the verticle
+    healthChecks.register("my-procedure", promise -> promise.complete(Status.OK()));
+  }
+
+  public void shards(HealthChecks healthChecks) {
+    // Groups of 256 procedures or more are evaluated on 8 event loops
+    healthChecks.configureGroup("endpoints", new GroupOptions()
+      .setShards(8)
+      .setShardThreshold(256));
+  }
+
+  public void query(HealthChecks healthChecks) {
+    // The first two levels, without data
+    healthChecks.checkStatus("/", new QueryOptions()
+      .setMaxDepth(2)
+      .setOmitData(true));
+
+    // The DOWN branches only
+    healthChecks.invoke("/", new QueryOptions().setOnlyDown(true))
+      .onSuccess(json -> {
+        // ...
+      });
+  }
 }
@@ -2,10 +2,13 @@ package io.vertx.ext.healthchecks;
 
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.healthchecks.impl.ProcedureException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -43,11 +46,45 @@ public class CheckResult {
   private String id;
   private Status status;
   private Throwable failure;
+  // The aggregated outcome, computed once from the status, the failure or the nested checks
+  private Boolean up;
+  // The latency of the evaluation in nanoseconds, reported in the data when positive
+  private long latency = -1L;
+  // Whether the result is read-only, set before the result is shared
+  private boolean frozen;
 
   public CheckResult() {
   }
 
+  /**
+   * Creates a result from its JSON version, as built by {@link #toJson()}. A result with nested checks is decoded as
+   * a group, its outcome being computed from the nested checks, other results are decoded as a {@link Status}.
+   *
+   * @param json the JSON version, must not be {@code null}
+   */
+  public CheckResult(JsonObject json) {
+    this.id = json.getString("id");
+    JsonArray array = json.getJsonArray("checks");
+    if (array != null) {
+      List<CheckResult> list = new ArrayList<>(array.size());
+      for (int i = 0; i < array.size(); i++) {
+        list.add(new CheckResult(array.getJsonObject(i)));
+      }
+      this.checks = Collections.unmodifiableList(list);
+    } else {
+      Status s = new Status()
+        .setOk("UP".equals(json.getString("status")))
+        .setProcedureInError(json.getBoolean("error", false));
+      JsonObject data = json.getJsonObject("data");
+      if (data != null) {
+        s.setData(data);
+      }
+      this.status = s;
+    }
+  }
+
   public CheckResult setId(String id) {
+    checkWritable();
     this.id = id;
     return this;
   }
@@ -61,11 +98,31 @@ public class CheckResult {
   }
 
   public CheckResult setStatus(Status status) {
+    checkWritable();
     this.status = status;
+    this.up = null;
     return this;
   }
 
+  /**
+   * Gets the outcome of this result, computed once from the status, the failure or the nested results.
+   * <p>
+   * The outcome is only reset by the setters of this result, so neither its {@link Status} nor its nested results
+   * must be modified in place. The nested results are exposed as an unmodifiable list, and the results returned by the
+   * health checks are {@link #freeze() read-only}.
+   *
+   * @return whether the outcome is UP
+   */
   public Boolean getUp() {
+    Boolean res = up;
+    if (res == null) {
+      res = computeUp();
+      up = res;
+    }
+    return res;
+  }
+
+  private boolean computeUp() {
     if (status != null) {
       return status.isOk();
     } else if (failure != null) {
@@ -73,6 +130,7 @@ public class CheckResult {
     }
     List<CheckResult> checks = getChecks();
     if (checks != null) {
+      // Nested results memoize their outcome, so each result of the tree is computed once
       for (CheckResult check : checks) {
         if (!check.getUp()) {
           return false;
@@ -83,8 +141,17 @@ public class CheckResult {
   }
 
   public JsonObject getData() {
+    if (latency >= 0) {
+      JsonObject data = getOwnData();
+      data = data == null ? new JsonObject() : data.copy();
+      return data.put("latency", latencyMillis());
+    }
+    return getOwnData();
+  }
+
+  private JsonObject getOwnData() {
     if (status != null) {
-      if (status.getData().isEmpty()) {
+      if (!status.hasData()) {
         return null;
       }
       return status.getData();
@@ -99,33 +166,108 @@ public class CheckResult {
     return null;
   }
 
+  /**
+   * @return the latency of the evaluation producing this result in nanoseconds, {@code -1} when not reported
+   */
+  public long getLatency() {
+    return latency;
+  }
+
+  /**
+   * Sets the latency of the evaluation producing this result, it is reported in milliseconds in the {@code latency}
+   * entry of the data.
+   *
+   * @param latency the latency in nanoseconds, a negative value does not report it
+   * @return the current result
+   */
+  public CheckResult setLatency(long latency) {
+    checkWritable();
+    this.latency = latency;
+    return this;
+  }
+
+  private double latencyMillis() {
+    return latency / 1_000_000d;
+  }
+
   public Throwable getFailure() {
     return failure;
   }
 
   public CheckResult setFailure(Throwable failure) {
+    checkWritable();
     this.failure = failure;
+    this.up = null;
     return this;
   }
 
+  /**
+   * Sets the nested results of this group. The list is not copied, it must not be modified afterwards.
+   *
+   * @param checks the nested results
+   * @return the current result
+   */
   public CheckResult setChecks(List<CheckResult> checks) {
-    this.checks = checks;
+    checkWritable();
+    this.checks = checks != null ? Collections.unmodifiableList(checks) : null;
+    this.up = null;
     return this;
   }
 
+  /**
+   * @return the nested results of this group, as an unmodifiable list, {@code null} for a leaf
+   */
   public List<CheckResult> getChecks() {
     return checks;
   }
 
+  /**
+   * Makes this result, its status and its nested results read-only: the setters throw an
+   * {@link IllegalStateException}. The health checks reuse a result across evaluations when the outcome does not
+   * change, and return it to every caller, so the returned results are read-only.
+   *
+   * @return the current result
+   */
+  public CheckResult freeze() {
+    if (!frozen) {
+      if (status != null) {
+        status.freeze();
+      }
+      if (checks != null) {
+        for (CheckResult check : checks) {
+          check.freeze();
+        }
+      }
+      // Computed before the result is shared
+      getUp();
+      frozen = true;
+    }
+    return this;
+  }
+
+  /**
+   * @return whether the result is read-only
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  private void checkWritable() {
+    if (frozen) {
+      throw new IllegalStateException("The result is read-only");
+    }
+  }
+
   /**
    * Get a JSON version of this result, it computes the overall outcome.
    */
   public JsonObject toJson() {
+    String outcome = getUp() ? "UP" : "DOWN";
     JsonObject json = new JsonObject();
     if (id != null) {
       json.put("id", id);
     }
-    json.put("status", getUp() ? "UP" : "DOWN");
+    json.put("status", outcome);
     JsonObject data = getData();
     if (data != null) {
       json.put("data", data.copy());
@@ -142,8 +284,134 @@ public class CheckResult {
       }
       json.put("checks", array);
     }
-    json.put("outcome", getUp() ? "UP" : "DOWN");
+    json.put("outcome", outcome);
     return json;
   }
 
+  /**
+   * Writes the JSON version of this result to the given buffer, it computes the overall outcome.
+   * <p>
+   * The written bytes are the same as {@code toJson().encode()}, but the result tree is encoded in one pass,
+   * without building an intermediate {@link JsonObject} nor copying the data of the statuses.
+   *
+   * @param buffer the buffer to write to
+   * @return the given buffer
+   */
+  public Buffer writeTo(Buffer buffer) {
+    write(buffer, true);
+    return buffer;
+  }
+
+  private void write(Buffer buffer, boolean top) {
+    String outcome = getUp() ? "UP" : "DOWN";
+    buffer.appendByte((byte) '{');
+    if (id != null) {
+      buffer.appendString("\"id\":");
+      writeString(buffer, id);
+      buffer.appendByte((byte) ',');
+    }
+    buffer.appendString("\"status\":\"").appendString(outcome).appendByte((byte) '"');
+    if (status != null) {
+      JsonObject data = getData();
+      if (data != null) {
+        buffer.appendString(",\"data\":").appendBuffer(data.toBuffer());
+      }
+      if (status.isProcedureInError()) {
+        buffer.appendString(",\"error\":true");
+      }
+    } else if (failure != null) {
+      buffer.appendString(",\"data\":{\"cause\":");
+      writeString(buffer, failure.getMessage());
+      if (failure instanceof ProcedureException) {
+        buffer.appendString(",\"procedure-execution-failure\":true");
+      }
+      writeLatency(buffer, false);
+      buffer.appendByte((byte) '}');
+    } else if (latency >= 0) {
+      buffer.appendString(",\"data\":{");
+      writeLatency(buffer, true);
+      buffer.appendByte((byte) '}');
+    }
+    if (checks != null) {
+      buffer.appendString(",\"checks\":[");
+      for (int i = 0; i < checks.size(); i++) {
+        if (i > 0) {
+          buffer.appendByte((byte) ',');
+        }
+        checks.get(i).write(buffer, false);
+      }
+      buffer.appendByte((byte) ']');
+    }
+    if (top) {
+      buffer.appendString(",\"outcome\":\"").appendString(outcome).appendByte((byte) '"');
+    }
+    buffer.appendByte((byte) '}');
+  }
+
+  private void writeLatency(Buffer buffer, boolean first) {
+    if (latency >= 0) {
+      if (!first) {
+        buffer.appendByte((byte) ',');
+      }
+      buffer.appendString("\"latency\":").appendString(Double.toString(latencyMillis()));
+    }
+  }
+
+  /**
+   * Writes a JSON string, escaped the same way as the Vert.x JSON codec.
+   */
+  private static void writeString(Buffer buffer, String s) {
+    if (s == null) {
+      buffer.appendString("null");
+      return;
+    }
+    buffer.appendByte((byte) '"');
+    int start = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      if (i > start) {
+        buffer.appendString(s.substring(start, i));
+      }
+      start = i + 1;
+      switch (c) {
+        case '"':
+          buffer.appendString("\\\"");
+          break;
+        case '\\':
+          buffer.appendString("\\\\");
+          break;
+        case '\b':
+          buffer.appendString("\\b");
+          break;
+        case '\t':
+          buffer.appendString("\\t");
+          break;
+        case '\n':
+          buffer.appendString("\\n");
+          break;
+        case '\f':
+          buffer.appendString("\\f");
+          break;
+        case '\r':
+          buffer.appendString("\\r");
+          break;
+        default:
+          buffer.appendString("\\u00")
+            .appendByte((byte) HEX[c >> 4])
+            .appendByte((byte) HEX[c & 0xF]);
+      }
+    }
+    if (start == 0) {
+      buffer.appendString(s);
+    } else if (start < s.length()) {
+      buffer.appendString(s.substring(start));
+    }
+    buffer.appendByte((byte) '"');
+  }
+
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
 }
@@ -0,0 +1,49 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.impl.ClusterHealthChecksImpl;
+
+/**
+ * Aggregates the health checks of the nodes of a cluster.
+ * <p>
+ * Each node creates a {@link ClusterHealthChecks} exposing its local {@link HealthChecks} on the event bus and
+ * announcing itself periodically to the other nodes. Any node can then compute the health of the cluster: the nodes
+ * are queried concurrently and their results are combined in a tree keyed by node identifier.
+ */
+@VertxGen
+public interface ClusterHealthChecks {
+
+  /**
+   * Creates a new instance of {@link ClusterHealthChecks} exposing the given health checks.
+   *
+   * @param vertx        the instance of Vert.x, must not be {@code null}
+   * @param healthChecks the health checks of this node, must not be {@code null}
+   * @param options      the options, must not be {@code null}
+   * @return the created instance
+   */
+  static ClusterHealthChecks create(Vertx vertx, HealthChecks healthChecks, ClusterHealthChecksOptions options) {
+    return new ClusterHealthChecksImpl(vertx, healthChecks, options);
+  }
+
+  /**
+   * @return the identifier of this node
+   */
+  String nodeId();
+
+  /**
+   * Computes the health of the cluster. The result contains a nested result per node, with the node identifier as
+   * id. A node that does not answer in time is reported as {@code DOWN}.
+   *
+   * @return a future notified with the aggregated {@link CheckResult}
+   */
+  Future<CheckResult> checkStatus();
+
+  /**
+   * Stops exposing the health checks of this node and notifies the other nodes.
+   *
+   * @return a future notified when closed
+   */
+  Future<Void> close();
+}
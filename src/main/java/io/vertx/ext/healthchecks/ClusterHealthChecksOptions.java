@@ -0,0 +1,183 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.UUID;
+
+/**
+ * Options configuring a {@link ClusterHealthChecks} instance.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ClusterHealthChecksOptions {
+
+  /**
+   * The default base address of the event bus addresses used by the nodes: {@code vertx.health}.
+   */
+  public static final String DEFAULT_ADDRESS = "vertx.health";
+
+  /**
+   * The default interval between two announces of a node in milliseconds: {@code 5000}.
+   */
+  public static final long DEFAULT_HEARTBEAT_INTERVAL = 5000L;
+
+  /**
+   * The default time to wait for the result of a node in milliseconds: {@code 1000}.
+   */
+  public static final long DEFAULT_NODE_TIMEOUT = 1000L;
+
+  /**
+   * The default time the aggregated result is reused in milliseconds: {@code 1000}.
+   */
+  public static final long DEFAULT_CACHE_TTL = 1000L;
+
+  private String address;
+  private String nodeId;
+  private long heartbeatInterval;
+  private long nodeTimeout;
+  private long cacheTtl;
+
+  /**
+   * Creates a new instance of {@link ClusterHealthChecksOptions} with default values.
+   */
+  public ClusterHealthChecksOptions() {
+    address = DEFAULT_ADDRESS;
+    nodeId = UUID.randomUUID().toString();
+    heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    nodeTimeout = DEFAULT_NODE_TIMEOUT;
+    cacheTtl = DEFAULT_CACHE_TTL;
+  }
+
+  /**
+   * Creates a new instance of {@link ClusterHealthChecksOptions} by copying the given
+   * {@link ClusterHealthChecksOptions}.
+   *
+   * @param other the options to copy, must not be {@code null}
+   */
+  public ClusterHealthChecksOptions(ClusterHealthChecksOptions other) {
+    this.address = other.address;
+    this.nodeId = other.nodeId;
+    this.heartbeatInterval = other.heartbeatInterval;
+    this.nodeTimeout = other.nodeTimeout;
+    this.cacheTtl = other.cacheTtl;
+  }
+
+  /**
+   * Creates a new instance of {@link ClusterHealthChecksOptions} from the given JSON structure.
+   *
+   * @param json the serialized form, must not be {@code null}
+   */
+  public ClusterHealthChecksOptions(JsonObject json) {
+    this();
+    ClusterHealthChecksOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Builds the JSON representation of the current {@link ClusterHealthChecksOptions} instance.
+   *
+   * @return the json object
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ClusterHealthChecksOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the base address of the event bus addresses used by the nodes
+   */
+  public String getAddress() {
+    return address;
+  }
+
+  /**
+   * Sets the base address of the event bus addresses used by the nodes. Nodes announce themselves on
+   * {@code <address>.announce} and answer health queries on {@code <address>.<node-id>}.
+   *
+   * @param address the address, must not be {@code null}
+   * @return the current options
+   */
+  public ClusterHealthChecksOptions setAddress(String address) {
+    this.address = address;
+    return this;
+  }
+
+  /**
+   * @return the identifier of the node
+   */
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Sets the identifier of the node, the key of its result in the aggregated tree. A random identifier is used by
+   * default.
+   *
+   * @param nodeId the identifier, must not be {@code null} and must be unique in the cluster
+   * @return the current options
+   */
+  public ClusterHealthChecksOptions setNodeId(String nodeId) {
+    this.nodeId = nodeId;
+    return this;
+  }
+
+  /**
+   * @return the interval between two announces of the node in milliseconds
+   */
+  public long getHeartbeatInterval() {
+    return heartbeatInterval;
+  }
+
+  /**
+   * Sets the interval, in milliseconds, between two announces of the node. A node that has not announced itself for
+   * three intervals is not queried anymore.
+   *
+   * @param heartbeatInterval the interval, must be strictly positive
+   * @return the current options
+   */
+  public ClusterHealthChecksOptions setHeartbeatInterval(long heartbeatInterval) {
+    this.heartbeatInterval = heartbeatInterval;
+    return this;
+  }
+
+  /**
+   * @return the time to wait for the result of a node in milliseconds
+   */
+  public long getNodeTimeout() {
+    return nodeTimeout;
+  }
+
+  /**
+   * Sets the time, in milliseconds, to wait for the result of a node. A node that does not answer in time is
+   * reported as {@code DOWN}.
+   *
+   * @param nodeTimeout the timeout, must be strictly positive
+   * @return the current options
+   */
+  public ClusterHealthChecksOptions setNodeTimeout(long nodeTimeout) {
+    this.nodeTimeout = nodeTimeout;
+    return this;
+  }
+
+  /**
+   * @return the time the aggregated and local results are reused in milliseconds
+   */
+  public long getCacheTtl() {
+    return cacheTtl;
+  }
+
+  /**
+   * Sets how long, in milliseconds, the aggregated result is reused before the nodes are queried again. Queries
+   * received while the nodes are being queried share the pending result. The node also answers the queries of the
+   * other nodes with its local result reused for the same time. {@code 0} disables caching.
+   *
+   * @param cacheTtl the TTL
+   * @return the current options
+   */
+  public ClusterHealthChecksOptions setCacheTtl(long cacheTtl) {
+    this.cacheTtl = cacheTtl;
+    return this;
+  }
+}
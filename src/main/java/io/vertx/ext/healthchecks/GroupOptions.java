@@ -0,0 +1,339 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a group of procedures, i.e. the procedures registered under a common name prefix such as
+ * {@code a-group/...}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class GroupOptions {
+
+  /**
+   * The default cache TTL: {@code -1}, the TTL is inherited from the enclosing groups.
+   */
+  public static final long DEFAULT_CACHE_TTL = -1L;
+
+  /**
+   * Fail-fast evaluation is disabled by default.
+   */
+  public static final boolean DEFAULT_FAIL_FAST = false;
+
+  /**
+   * Cheapest-first evaluation is disabled by default.
+   */
+  public static final boolean DEFAULT_CHEAPEST_FIRST = false;
+
+  /**
+   * The default maximum number of procedures of a group evaluated concurrently: {@code 0}, unbounded.
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 0;
+
+  /**
+   * The default timeout of the evaluation of a group: {@code 0}, the group waits for its procedures.
+   */
+  public static final long DEFAULT_TIMEOUT = 0L;
+
+  /**
+   * The default worker pool size of a group: {@code 20}.
+   */
+  public static final int DEFAULT_WORKER_POOL_SIZE = VertxOptions.DEFAULT_WORKER_POOL_SIZE;
+
+  /**
+   * The default maximum number of procedures of a group waiting for a worker: unbounded.
+   */
+  public static final int DEFAULT_MAX_WORKER_QUEUE_SIZE = Integer.MAX_VALUE;
+
+  /**
+   * Sharded evaluation is disabled by default.
+   */
+  public static final int DEFAULT_SHARDS = 0;
+
+  /**
+   * The default minimum number of procedures of a group evaluated in shards: {@code 64}.
+   */
+  public static final int DEFAULT_SHARD_THRESHOLD = 64;
+
+  private long cacheTtl;
+  private boolean failFast;
+  private boolean cheapestFirst;
+  private int maxConcurrency;
+  private long timeout;
+  private String workerPoolName;
+  private int workerPoolSize;
+  private int maxWorkerQueueSize;
+  private int shards;
+  private int shardThreshold;
+
+  /**
+   * Creates a new instance of {@link GroupOptions} with default values.
+   */
+  public GroupOptions() {
+    cacheTtl = DEFAULT_CACHE_TTL;
+    failFast = DEFAULT_FAIL_FAST;
+    cheapestFirst = DEFAULT_CHEAPEST_FIRST;
+    maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    timeout = DEFAULT_TIMEOUT;
+    workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+    maxWorkerQueueSize = DEFAULT_MAX_WORKER_QUEUE_SIZE;
+    shards = DEFAULT_SHARDS;
+    shardThreshold = DEFAULT_SHARD_THRESHOLD;
+  }
+
+  /**
+   * Creates a new instance of {@link GroupOptions} by copying the given {@link GroupOptions}.
+   *
+   * @param other the options to copy, must not be {@code null}
+   */
+  public GroupOptions(GroupOptions other) {
+    this.cacheTtl = other.cacheTtl;
+    this.failFast = other.failFast;
+    this.cheapestFirst = other.cheapestFirst;
+    this.maxConcurrency = other.maxConcurrency;
+    this.timeout = other.timeout;
+    this.workerPoolName = other.workerPoolName;
+    this.workerPoolSize = other.workerPoolSize;
+    this.maxWorkerQueueSize = other.maxWorkerQueueSize;
+    this.shards = other.shards;
+    this.shardThreshold = other.shardThreshold;
+  }
+
+  /**
+   * Creates a new instance of {@link GroupOptions} from the given JSON structure.
+   *
+   * @param json the serialized form, must not be {@code null}
+   */
+  public GroupOptions(JsonObject json) {
+    this();
+    GroupOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Builds the JSON representation of the current {@link GroupOptions} instance.
+   *
+   * @return the json object
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    GroupOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the cache TTL in milliseconds
+   */
+  public long getCacheTtl() {
+    return cacheTtl;
+  }
+
+  /**
+   * Sets the cache TTL, in milliseconds, inherited by the procedures of the group that do not configure their own
+   * (see {@link ProcedureOptions#setCacheTtl(long)}).
+   * <p>
+   * {@code 0} disables caching, a negative value inherits the TTL of the enclosing groups.
+   *
+   * @param cacheTtl the TTL
+   * @return the current options
+   */
+  public GroupOptions setCacheTtl(long cacheTtl) {
+    this.cacheTtl = cacheTtl;
+    return this;
+  }
+
+  /**
+   * @return whether the group completes as soon as one of its procedures is down
+   */
+  public boolean isFailFast() {
+    return failFast;
+  }
+
+  /**
+   * Sets whether the group completes as soon as one of its procedures reports a {@code DOWN} outcome, the outcome of
+   * the group being certain. The procedures still running are reported as pending.
+   *
+   * @param failFast {@code true} to enable fail-fast evaluation
+   * @return the current options
+   */
+  public GroupOptions setFailFast(boolean failFast) {
+    this.failFast = failFast;
+    return this;
+  }
+
+  /**
+   * @return whether the procedures of the group are invoked cheapest first
+   */
+  public boolean isCheapestFirst() {
+    return cheapestFirst;
+  }
+
+  /**
+   * Sets whether the procedures of the group are started by increasing order of the duration of their last evaluation.
+   * The ordering does not change the concurrency of the group: the procedures are started concurrently, up to the
+   * maximum concurrency set with {@link #setMaxConcurrency(int)}.
+   * <p>
+   * Combined with {@link #setFailFast(boolean)}, the procedures are invoked one at a time, unless a maximum concurrency
+   * is set, so the costly procedures are not invoked once a cheap one reported a {@code DOWN} outcome.
+   *
+   * @param cheapestFirst {@code true} to invoke the cheapest procedures first
+   * @return the current options
+   */
+  public GroupOptions setCheapestFirst(boolean cheapestFirst) {
+    this.cheapestFirst = cheapestFirst;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of procedures of the group evaluated concurrently
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Sets the maximum number of procedures of the group evaluated concurrently. The other procedures are queued and
+   * invoked as the running ones complete, which caps the load put on a shared backend by a group of checks.
+   * <p>
+   * A nested group counts as a single procedure of its enclosing group. {@code 0} does not bound the concurrency.
+   * <p>
+   * The limit counts the results the group is waiting for, not the procedures still running: a procedure that timed
+   * out frees its slot while its handler may still hold resources of the backend. Without a
+   * {@link #setTimeout(long) group timeout}, an evaluation can last the procedure timeout times the number of
+   * procedures divided by the limit.
+   *
+   * @param maxConcurrency the maximum concurrency, must not be negative
+   * @return the current options
+   */
+  public GroupOptions setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    return this;
+  }
+
+  /**
+   * @return the timeout of the evaluation of the group in milliseconds, {@code 0} when disabled
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the maximum duration of an evaluation of the group, in milliseconds. Once elapsed, the group completes and the
+   * procedures not completed yet, running or queued, are reported as {@code DOWN} with the {@code pending} data set to
+   * {@code true}.
+   * <p>
+   * {@code 0} disables the timeout, the group waiting for each of its procedures.
+   *
+   * @param timeout the timeout, must not be negative
+   * @return the current options
+   */
+  public GroupOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return the name of the worker pool running the procedures of the group
+   */
+  public String getWorkerPoolName() {
+    return workerPoolName;
+  }
+
+  /**
+   * Sets the name of a dedicated worker pool running the procedures of the group and of its nested groups. A slow or
+   * blocking group is then isolated from the other procedures and from the event loop.
+   * <p>
+   * Groups configuring the same name share the pool. The pool belongs to the health checks: it is not shared with a
+   * Vert.x shared worker pool of the same name created by the application, nor with other health checks instances,
+   * and its threads are named after the pool name followed by a suffix unique to the instance. {@code null}, the
+   * default, runs the procedures on the calling context, or on the pool of an enclosing group.
+   *
+   * @param workerPoolName the worker pool name
+   * @return the current options
+   */
+  public GroupOptions setWorkerPoolName(String workerPoolName) {
+    this.workerPoolName = workerPoolName;
+    return this;
+  }
+
+  /**
+   * @return the size of the worker pool of the group
+   */
+  public int getWorkerPoolSize() {
+    return workerPoolSize;
+  }
+
+  /**
+   * Sets the number of threads of the worker pool of the group (see {@link #setWorkerPoolName(String)}).
+   *
+   * @param workerPoolSize the size, must be strictly positive
+   * @return the current options
+   */
+  public GroupOptions setWorkerPoolSize(int workerPoolSize) {
+    this.workerPoolSize = workerPoolSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of procedures waiting for a worker of the pool of the group
+   */
+  public int getMaxWorkerQueueSize() {
+    return maxWorkerQueueSize;
+  }
+
+  /**
+   * Sets the maximum number of procedures waiting for a worker of the pool of the group. Once reached, the
+   * procedures are not invoked and are reported as {@code DOWN}.
+   *
+   * @param maxWorkerQueueSize the maximum queue size, must not be negative
+   * @return the current options
+   */
+  public GroupOptions setMaxWorkerQueueSize(int maxWorkerQueueSize) {
+    this.maxWorkerQueueSize = maxWorkerQueueSize;
+    return this;
+  }
+
+  /**
+   * @return the number of event loops the procedures of the group are evaluated on, {@code 0} when disabled
+   */
+  public int getShards() {
+    return shards;
+  }
+
+  /**
+   * Sets the number of event loops the procedures of the group are evaluated on. The procedures are split in
+   * contiguous shards, each shard being started on its own event loop, so large groups do not start and gather all
+   * their procedures on a single thread.
+   * <p>
+   * Sharding only applies to groups with at least {@link #setShardThreshold(int) the shard threshold} procedures,
+   * evaluated without bounded concurrency nor cheapest-first ordering.
+   *
+   * @param shards the number of shards, {@code 0} or {@code 1} to disable sharding, must not be negative
+   * @return the current options
+   */
+  public GroupOptions setShards(int shards) {
+    this.shards = shards;
+    return this;
+  }
+
+  /**
+   * @return the minimum number of procedures of the group evaluated in shards
+   */
+  public int getShardThreshold() {
+    return shardThreshold;
+  }
+
+  /**
+   * Sets the minimum number of procedures of the group evaluated in shards, smaller groups are evaluated on the
+   * calling thread as splitting them would cost more than it saves.
+   *
+   * @param shardThreshold the threshold, must not be negative
+   * @return the current options
+   */
+  public GroupOptions setShardThreshold(int shardThreshold) {
+    this.shardThreshold = shardThreshold;
+    return this;
+  }
+}
@@ -1,14 +1,19 @@
 package io.vertx.ext.healthchecks;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.healthchecks.impl.HealthChecksImpl;
 
+import java.util.concurrent.Callable;
+
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -25,6 +30,17 @@ public interface HealthChecks {
     return new HealthChecksImpl(vertx);
   }
 
+  /**
+   * Creates a new instance of the default implementation of {@link HealthChecks} configured with the given options.
+   *
+   * @param vertx   the instance of Vert.x, must not be {@code null}
+   * @param options the options, must not be {@code null}
+   * @return the created instance
+   */
+  static HealthChecks create(Vertx vertx, HealthChecksOptions options) {
+    return new HealthChecksImpl(vertx, options);
+  }
+
   /**
    * Registers a health check procedure.
    * <p>
@@ -59,6 +75,86 @@ public interface HealthChecks {
    */
   HealthChecks register(String name, long timeout, Handler<Promise<Status>> procedure);
 
+  /**
+   * Registers a health check procedure configured with the given {@link ProcedureOptions}.
+   * <p>
+   * The procedure is a {@link Handler} taking a {@link Promise} of {@link Status} as parameter.
+   * Procedures are asynchronous, and <strong>must</strong> complete or fail the given {@link Promise}.
+   * If the future object is failed, the procedure outcome is considered as `DOWN`. If the future is
+   * completed without any object, the procedure outcome is considered as `UP`. If the future is completed
+   * with a (not-null) {@link Status}, the procedure outcome is the received status.
+   * <p>
+   * Settings not configured in the options, such as the cache TTL, are inherited from the enclosing groups
+   * (see {@link #configureGroup(String, GroupOptions)}).
+   *
+   * @param name      the name of the procedure, must not be {@code null} or empty
+   * @param options   the procedure options, must not be {@code null}
+   * @param procedure the procedure, must not be {@code null}
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  HealthChecks register(String name, ProcedureOptions options, Handler<Promise<Status>> procedure);
+
+  /**
+   * Registers a blocking health check procedure.
+   * <p>
+   * The procedure is a {@link Callable} returning the {@link Status} of the check, it is invoked on a virtual thread
+   * when the JVM supports them, on a worker thread otherwise, so it can use blocking clients. If the procedure throws
+   * an exception, the procedure outcome is considered as `DOWN`. If it returns {@code null}, the procedure outcome is
+   * considered as `UP`.
+   * <p>
+   * The procedure is not interrupted when it times out.
+   *
+   * @param name      the name of the procedure, must not be {@code null} or empty
+   * @param timeout   the procedure timeout in milliseconds
+   * @param procedure the procedure, must not be {@code null}
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  HealthChecks registerBlocking(String name, long timeout, Callable<Status> procedure);
+
+  /**
+   * Registers a blocking health check procedure configured with the given {@link ProcedureOptions}.
+   * <p>
+   * See {@link #registerBlocking(String, long, Callable)}.
+   *
+   * @param name      the name of the procedure, must not be {@code null} or empty
+   * @param options   the procedure options, must not be {@code null}
+   * @param procedure the procedure, must not be {@code null}
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  HealthChecks registerBlocking(String name, ProcedureOptions options, Callable<Status> procedure);
+
+  /**
+   * Registers a procedure whose status is reported by the application with the returned {@link StatusReporter}.
+   * <p>
+   * Evaluations read the last reported status without invoking anything, a procedure not reported yet is
+   * {@code DOWN}. When the status is not reported again within the given delay, the procedure is reported as
+   * {@code DOWN} with a {@code stale} entry in its data.
+   * @param name       the name of the procedure, must not be {@code null} or empty
+   * @param staleAfter the delay in milliseconds after which the reported status is stale, {@code 0} to disable
+   * @return the reporter of the procedure status
+   */
+  StatusReporter registerReporter(String name, long staleAfter);
+
+  /**
+   * Configures a group of procedures, creating the group if it does not exist yet. Use {@code /} to configure
+   * the root group.
+   * <p>
+   * The options apply to the procedures already registered in the group as well as to the ones registered later: the
+   * settings inherited from the groups, e.g. the cache TTL or the worker pool, are resolved when a procedure is
+   * invoked.
+   *
+   * @param name    the name of the group, must not be {@code null}
+   * @param options the group options, must not be {@code null}
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  HealthChecks configureGroup(String name, GroupOptions options);
+
   /**
    * Unregisters a procedure.
    *
@@ -68,6 +164,14 @@ public interface HealthChecks {
   @Fluent
   HealthChecks unregister(String name);
 
+  /**
+   * Closes the health checks: stops the background evaluation of the procedures and closes the worker pools of the
+   * groups.
+   *
+   * @return a future notified when closed
+   */
+  Future<Void> close();
+
 
   /**
    * Invokes the registered procedures and computes the outcome.
@@ -89,6 +193,16 @@ public interface HealthChecks {
    */
   Future<JsonObject> invoke(String name);
 
+  /**
+   * Invokes the registered procedure with the given name and sub-procedures, and returns the part of the result
+   * selected by the given options.
+   * @param name    the name of the procedure or group, use {@code /} for the root
+   * @param options the query options, must not be {@code null}
+   * @return a future notified with the JSON version of the selected result, or with a failure if the procedure with
+   *         the given name cannot be found or invoked.
+   */
+  Future<JsonObject> invoke(String name, QueryOptions options);
+
   /**
    * Invokes the registered procedures.
    *
@@ -104,4 +218,54 @@ public interface HealthChecks {
    */
   Future<CheckResult> checkStatus(String name);
 
+  /**
+   * Invokes the registered procedure with the given name and sub-procedures, and returns the part of the result
+   * selected by the given options, e.g. the first levels or the {@code DOWN} branches only.
+   * <p>
+   * The procedures are evaluated as with {@link #checkStatus(String)}, the outcome of the returned results is the one
+   * of the full tree. The filtered out results are not copied, so the returned result is cheaper to build and to
+   * serialize.
+   * @param name    the name of the procedure or group, use {@code /} for the root
+   * @param options the query options, must not be {@code null}
+   * @return a future notified with the selected result, or with a failure if the procedure with the given name
+   *         cannot be found or invoked.
+   */
+  Future<CheckResult> checkStatus(String name, QueryOptions options);
+
+  /**
+   * Gets the outcome of the procedure or group with the given name from the last known results, without invoking
+   * any procedure. Use {@code /} to get the overall outcome.
+   * <p>
+   * Each group maintains the number of its procedures currently DOWN, so the answer does not depend on the size of
+   * the tree. A procedure that has not been evaluated yet is considered as DOWN.
+   * @param name the name of the procedure or group, must not be {@code null}
+   * @return whether the procedure, or all the procedures of the group, are UP
+   * @throws IllegalArgumentException if no procedure or group is registered with the given name
+   */
+  boolean isUp(String name);
+
+  /**
+   * Subscribes to the status changes of the procedure or group with the given name and of its sub-procedures,
+   * use {@code /} to subscribe to the changes of all the procedures.
+   * <p>
+   * A change is emitted when the outcome of a procedure or group differs from the one of its previous evaluation,
+   * the emitted {@link CheckResult} has the full path of the procedure as id and its new status. The first evaluation
+   * of a procedure is a change. While the stream is paused, the changes of a procedure are conflated: only its latest
+   * status is emitted on resume. Setting a {@code null} handler ends the subscription.
+   * <p>
+   * Changes are detected by the evaluations, triggered by the status queries or by the background evaluation.
+   * @param name the name of the procedure or group, it does not need to be registered yet
+   * @return the stream of changes
+   */
+  ReadStream<CheckResult> subscribe(String name);
+
+  /**
+   * Gets the statistics of the procedure with the given name. The statistics of a group aggregate the statistics
+   * of its procedures, use {@code /} to get the statistics of all the registered procedures.
+   *
+   * @param name the name of the procedure or group
+   * @return the statistics, {@code null} if the procedure with the given name cannot be found
+   */
+  @Nullable ProcedureStats stats(String name);
+
 }
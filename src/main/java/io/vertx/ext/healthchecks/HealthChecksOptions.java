@@ -0,0 +1,228 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a {@link HealthChecks} instance.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class HealthChecksOptions {
+
+  /**
+   * Background evaluation is disabled by default.
+   */
+  public static final boolean DEFAULT_BACKGROUND_EVALUATION = false;
+
+  /**
+   * The default refresh interval of the procedures in milliseconds: {@code 5000}.
+   */
+  public static final long DEFAULT_REFRESH_INTERVAL = 5000L;
+
+  /**
+   * Fail-fast evaluation is disabled by default.
+   */
+  public static final boolean DEFAULT_FAIL_FAST = false;
+
+  /**
+   * Latencies are not reported in the results by default.
+   */
+  public static final boolean DEFAULT_LATENCY_IN_RESULTS = false;
+
+  /**
+   * Context affinity is disabled by default.
+   */
+  public static final boolean DEFAULT_CONTEXT_AFFINITY = false;
+
+  /**
+   * The event bus codecs are not registered by default.
+   */
+  public static final boolean DEFAULT_EVENT_BUS_CODECS = false;
+
+  private boolean backgroundEvaluation;
+  private long refreshInterval;
+  private boolean failFast;
+  private boolean latencyInResults;
+  private boolean contextAffinity;
+  private boolean eventBusCodecs;
+
+  /**
+   * Creates a new instance of {@link HealthChecksOptions} with default values.
+   */
+  public HealthChecksOptions() {
+    backgroundEvaluation = DEFAULT_BACKGROUND_EVALUATION;
+    refreshInterval = DEFAULT_REFRESH_INTERVAL;
+    failFast = DEFAULT_FAIL_FAST;
+    latencyInResults = DEFAULT_LATENCY_IN_RESULTS;
+    contextAffinity = DEFAULT_CONTEXT_AFFINITY;
+    eventBusCodecs = DEFAULT_EVENT_BUS_CODECS;
+  }
+
+  /**
+   * Creates a new instance of {@link HealthChecksOptions} by copying the given {@link HealthChecksOptions}.
+   *
+   * @param other the options to copy, must not be {@code null}
+   */
+  public HealthChecksOptions(HealthChecksOptions other) {
+    this.backgroundEvaluation = other.backgroundEvaluation;
+    this.refreshInterval = other.refreshInterval;
+    this.failFast = other.failFast;
+    this.latencyInResults = other.latencyInResults;
+    this.contextAffinity = other.contextAffinity;
+    this.eventBusCodecs = other.eventBusCodecs;
+  }
+
+  /**
+   * Creates a new instance of {@link HealthChecksOptions} from the given JSON structure.
+   *
+   * @param json the serialized form, must not be {@code null}
+   */
+  public HealthChecksOptions(JsonObject json) {
+    this();
+    HealthChecksOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Builds the JSON representation of the current {@link HealthChecksOptions} instance.
+   *
+   * @return the json object
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    HealthChecksOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return whether the procedures are evaluated in the background
+   */
+  public boolean isBackgroundEvaluation() {
+    return backgroundEvaluation;
+  }
+
+  /**
+   * Sets whether the procedures are evaluated in the background.
+   * <p>
+   * When enabled, each procedure is invoked periodically, and computing the health checks returns the last known
+   * results immediately, without invoking any procedure.
+   * <p>
+   * Each procedure is refreshed on its own timer, not through its groups: the worker pool and the cache TTL of the
+   * groups still apply, but the settings of a group evaluation do not, i.e. fail-fast, cheapest-first, the maximum
+   * concurrency, the group timeout and sharding. Spread the refresh intervals of the procedures to bound the load they
+   * put on a shared backend.
+   *
+   * @param backgroundEvaluation {@code true} to evaluate the procedures in the background
+   * @return the current options
+   */
+  public HealthChecksOptions setBackgroundEvaluation(boolean backgroundEvaluation) {
+    this.backgroundEvaluation = backgroundEvaluation;
+    return this;
+  }
+
+  /**
+   * @return the default refresh interval of the procedures in milliseconds
+   */
+  public long getRefreshInterval() {
+    return refreshInterval;
+  }
+
+  /**
+   * Sets the default interval, in milliseconds, between two background invocations of a procedure. Procedures can
+   * override it with {@link ProcedureOptions#setRefreshInterval(long)}.
+   *
+   * @param refreshInterval the interval, must be strictly positive
+   * @return the current options
+   */
+  public HealthChecksOptions setRefreshInterval(long refreshInterval) {
+    this.refreshInterval = refreshInterval;
+    return this;
+  }
+
+  /**
+   * @return whether every group completes as soon as one of its procedures is down
+   */
+  public boolean isFailFast() {
+    return failFast;
+  }
+
+  /**
+   * Sets whether every group, including the root, completes as soon as one of its procedures reports a {@code DOWN}
+   * outcome. Fail-fast evaluation can also be enabled for a single group with {@link GroupOptions#setFailFast(boolean)}.
+   *
+   * @param failFast {@code true} to enable fail-fast evaluation for the whole tree
+   * @return the current options
+   */
+  public HealthChecksOptions setFailFast(boolean failFast) {
+    this.failFast = failFast;
+    return this;
+  }
+
+  /**
+   * @return whether the latency of each procedure and group is reported in the data of its result
+   */
+  public boolean isLatencyInResults() {
+    return latencyInResults;
+  }
+
+  /**
+   * Sets whether the latency of each procedure and group is reported, in milliseconds, in the {@code latency} entry
+   * of the data of its result. The latencies are always recorded in the statistics
+   * (see {@link HealthChecks#stats(String)}).
+   *
+   * @param latencyInResults {@code true} to report the latencies in the results
+   * @return the current options
+   */
+  public HealthChecksOptions setLatencyInResults(boolean latencyInResults) {
+    this.latencyInResults = latencyInResults;
+    return this;
+  }
+
+  /**
+   * @return whether each procedure is invoked on the context it was registered on
+   */
+  public boolean isContextAffinity() {
+    return contextAffinity;
+  }
+
+  /**
+   * Sets whether each procedure is invoked on the context it was registered on, whatever the context computing the
+   * health checks. The results of the procedures are gathered where they complete, and the overall result is
+   * delivered to the calling context with a single hop.
+   * <p>
+   * Pinning the procedures avoids moving their state across event loops when the health checks are computed from
+   * different contexts. Register the procedures from the context owning the resources they check, e.g. from the
+   * verticle creating a client.
+   *
+   * @param contextAffinity {@code true} to invoke the procedures on their registration context
+   * @return the current options
+   */
+  public HealthChecksOptions setContextAffinity(boolean contextAffinity) {
+    this.contextAffinity = contextAffinity;
+    return this;
+  }
+
+  /**
+   * @return whether the event bus codecs of the results are registered
+   */
+  public boolean isEventBusCodecs() {
+    return eventBusCodecs;
+  }
+
+  /**
+   * Sets whether creating the health checks registers the default event bus codecs of {@link CheckResult} and
+   * {@link Status}, so the results can be sent as message bodies. Local deliveries pass the read-only results returned
+   * by the health checks by reference, and copy the others; clustered deliveries use a compact binary format.
+   * <p>
+   * The codecs are registered once per Vert.x instance: creating the health checks fails with an
+   * {@link IllegalStateException} when the application registered its own default codec for one of these classes.
+   *
+   * @param eventBusCodecs {@code true} to register the event bus codecs
+   * @return the current options
+   */
+  public HealthChecksOptions setEventBusCodecs(boolean eventBusCodecs) {
+    this.eventBusCodecs = eventBusCodecs;
+    return this;
+  }
+}
@@ -0,0 +1,275 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a health check procedure.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ProcedureOptions {
+
+  /**
+   * The default procedure timeout in milliseconds: {@code 1000}.
+   */
+  public static final long DEFAULT_TIMEOUT = 1000L;
+
+  /**
+   * The default cache TTL: {@code -1}, the TTL is inherited from the enclosing groups.
+   */
+  public static final long DEFAULT_CACHE_TTL = -1L;
+
+  /**
+   * The default refresh interval: {@code 0}, the interval configured in {@link HealthChecksOptions} is used.
+   */
+  public static final long DEFAULT_REFRESH_INTERVAL = 0L;
+
+  /**
+   * The default circuit breaker threshold: {@code 0}, the circuit breaker is disabled.
+   */
+  public static final int DEFAULT_BREAKER_THRESHOLD = 0;
+
+  /**
+   * The default circuit breaker backoff in milliseconds: {@code 30000}.
+   */
+  public static final long DEFAULT_BREAKER_BACKOFF = 30000L;
+
+  /**
+   * The default adaptive timeout multiplier: {@code 0}, the timeout is not adaptive.
+   */
+  public static final double DEFAULT_ADAPTIVE_TIMEOUT_MULTIPLIER = 0d;
+
+  /**
+   * The default latency percentile of the adaptive timeout: {@code 99}.
+   */
+  public static final double DEFAULT_ADAPTIVE_TIMEOUT_PERCENTILE = 99d;
+
+  /**
+   * The default lower bound of the adaptive timeout in milliseconds: {@code 10}.
+   */
+  public static final long DEFAULT_MIN_TIMEOUT = 10L;
+
+  private long timeout;
+  private long cacheTtl;
+  private long refreshInterval;
+  private int breakerThreshold;
+  private long breakerBackoff;
+  private double adaptiveTimeoutMultiplier;
+  private double adaptiveTimeoutPercentile;
+  private long minTimeout;
+
+  /**
+   * Creates a new instance of {@link ProcedureOptions} with default values.
+   */
+  public ProcedureOptions() {
+    timeout = DEFAULT_TIMEOUT;
+    cacheTtl = DEFAULT_CACHE_TTL;
+    refreshInterval = DEFAULT_REFRESH_INTERVAL;
+    breakerThreshold = DEFAULT_BREAKER_THRESHOLD;
+    breakerBackoff = DEFAULT_BREAKER_BACKOFF;
+    adaptiveTimeoutMultiplier = DEFAULT_ADAPTIVE_TIMEOUT_MULTIPLIER;
+    adaptiveTimeoutPercentile = DEFAULT_ADAPTIVE_TIMEOUT_PERCENTILE;
+    minTimeout = DEFAULT_MIN_TIMEOUT;
+  }
+
+  /**
+   * Creates a new instance of {@link ProcedureOptions} by copying the given {@link ProcedureOptions}.
+   *
+   * @param other the options to copy, must not be {@code null}
+   */
+  public ProcedureOptions(ProcedureOptions other) {
+    this.timeout = other.timeout;
+    this.cacheTtl = other.cacheTtl;
+    this.refreshInterval = other.refreshInterval;
+    this.breakerThreshold = other.breakerThreshold;
+    this.breakerBackoff = other.breakerBackoff;
+    this.adaptiveTimeoutMultiplier = other.adaptiveTimeoutMultiplier;
+    this.adaptiveTimeoutPercentile = other.adaptiveTimeoutPercentile;
+    this.minTimeout = other.minTimeout;
+  }
+
+  /**
+   * Creates a new instance of {@link ProcedureOptions} from the given JSON structure.
+   *
+   * @param json the serialized form, must not be {@code null}
+   */
+  public ProcedureOptions(JsonObject json) {
+    this();
+    ProcedureOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Builds the JSON representation of the current {@link ProcedureOptions} instance.
+   *
+   * @return the json object
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ProcedureOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the procedure timeout in milliseconds
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the procedure timeout in milliseconds. The procedure is considered as failed if it does not complete
+   * in time.
+   *
+   * @param timeout the timeout, must be strictly positive
+   * @return the current options
+   */
+  public ProcedureOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return the cache TTL in milliseconds
+   */
+  public long getCacheTtl() {
+    return cacheTtl;
+  }
+
+  /**
+   * Sets how long, in milliseconds, the result of the procedure is reused before the procedure is invoked again.
+   * <p>
+   * {@code 0} disables caching, a negative value inherits the TTL of the enclosing groups
+   * (see {@link GroupOptions#setCacheTtl(long)}).
+   *
+   * @param cacheTtl the TTL
+   * @return the current options
+   */
+  public ProcedureOptions setCacheTtl(long cacheTtl) {
+    this.cacheTtl = cacheTtl;
+    return this;
+  }
+
+  /**
+   * @return the refresh interval in milliseconds
+   */
+  public long getRefreshInterval() {
+    return refreshInterval;
+  }
+
+  /**
+   * Sets the interval, in milliseconds, between two background invocations of the procedure. Only used when
+   * background evaluation is enabled (see {@link HealthChecksOptions#setBackgroundEvaluation(boolean)}).
+   * <p>
+   * {@code 0} uses the refresh interval configured in {@link HealthChecksOptions}.
+   *
+   * @param refreshInterval the interval
+   * @return the current options
+   */
+  public ProcedureOptions setRefreshInterval(long refreshInterval) {
+    this.refreshInterval = refreshInterval;
+    return this;
+  }
+
+  /**
+   * @return the number of consecutive failures opening the circuit breaker of the procedure
+   */
+  public int getBreakerThreshold() {
+    return breakerThreshold;
+  }
+
+  /**
+   * Sets the number of consecutive failures, including timeouts, opening the circuit breaker of the procedure. While
+   * the breaker is open, the procedure is not invoked and is reported as {@code DOWN}, with the state of the breaker
+   * in the {@code circuit-breaker} data.
+   * <p>
+   * {@code 0} disables the circuit breaker.
+   *
+   * @param breakerThreshold the threshold
+   * @return the current options
+   */
+  public ProcedureOptions setBreakerThreshold(int breakerThreshold) {
+    this.breakerThreshold = breakerThreshold;
+    return this;
+  }
+
+  /**
+   * @return the time in milliseconds the circuit breaker stays open
+   */
+  public long getBreakerBackoff() {
+    return breakerBackoff;
+  }
+
+  /**
+   * Sets the time, in milliseconds, the circuit breaker stays open. Once elapsed, a single trial invocation is let
+   * through: the breaker closes if it succeeds and opens again otherwise.
+   *
+   * @param breakerBackoff the backoff, must be strictly positive
+   * @return the current options
+   */
+  public ProcedureOptions setBreakerBackoff(long breakerBackoff) {
+    this.breakerBackoff = breakerBackoff;
+    return this;
+  }
+
+  /**
+   * @return the multiplier of the observed latency percentile giving the adaptive timeout
+   */
+  public double getAdaptiveTimeoutMultiplier() {
+    return adaptiveTimeoutMultiplier;
+  }
+
+  /**
+   * Enables the adaptive timeout of the procedure. The timeout is then derived from the recent latencies of the
+   * procedure: it is the latency percentile configured with {@link #setAdaptiveTimeoutPercentile(double)} times this
+   * multiplier, bounded by {@link #setMinTimeout(long)} and {@link #setTimeout(long)}.
+   * <p>
+   * Until enough invocations have been observed, and when set to {@code 0}, the timeout configured with
+   * {@link #setTimeout(long)} is used.
+   *
+   * @param adaptiveTimeoutMultiplier the multiplier, must not be negative
+   * @return the current options
+   */
+  public ProcedureOptions setAdaptiveTimeoutMultiplier(double adaptiveTimeoutMultiplier) {
+    this.adaptiveTimeoutMultiplier = adaptiveTimeoutMultiplier;
+    return this;
+  }
+
+  /**
+   * @return the latency percentile the adaptive timeout is derived from
+   */
+  public double getAdaptiveTimeoutPercentile() {
+    return adaptiveTimeoutPercentile;
+  }
+
+  /**
+   * Sets the latency percentile the adaptive timeout is derived from, e.g. {@code 99} for the 99th percentile.
+   *
+   * @param adaptiveTimeoutPercentile the percentile, between {@code 0} (excluded) and {@code 100}
+   * @return the current options
+   */
+  public ProcedureOptions setAdaptiveTimeoutPercentile(double adaptiveTimeoutPercentile) {
+    this.adaptiveTimeoutPercentile = adaptiveTimeoutPercentile;
+    return this;
+  }
+
+  /**
+   * @return the lower bound of the adaptive timeout in milliseconds
+   */
+  public long getMinTimeout() {
+    return minTimeout;
+  }
+
+  /**
+   * Sets the lower bound, in milliseconds, of the adaptive timeout. The upper bound is the timeout configured with
+   * {@link #setTimeout(long)}.
+   *
+   * @param minTimeout the lower bound, must be strictly positive
+   * @return the current options
+   */
+  public ProcedureOptions setMinTimeout(long minTimeout) {
+    this.minTimeout = minTimeout;
+    return this;
+  }
+}
@@ -0,0 +1,162 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Statistics collected for a procedure. The cache statistics of a group are the sum of the statistics of its
+ * procedures, the latency statistics of a group are the latencies of its evaluations.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class ProcedureStats {
+
+  private long cacheHits;
+  private long cacheMisses;
+  private long evaluations;
+  private long evaluationCallers;
+  private long latencyCount;
+  private double latencyP50;
+  private double latencyP90;
+  private double latencyP99;
+  private double latencyMax;
+
+  /**
+   * Creates a new instance of {@link ProcedureStats} with default values.
+   */
+  public ProcedureStats() {
+    // Empty constructor
+  }
+
+  /**
+   * Creates a new instance of {@link ProcedureStats} from the given JSON structure.
+   *
+   * @param json the serialized form, must not be {@code null}
+   */
+  public ProcedureStats(JsonObject json) {
+    ProcedureStatsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Builds the JSON representation of the current {@link ProcedureStats} instance.
+   *
+   * @return the json object
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ProcedureStatsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the number of invocations answered from the cache
+   */
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  public ProcedureStats setCacheHits(long cacheHits) {
+    this.cacheHits = cacheHits;
+    return this;
+  }
+
+  /**
+   * @return the number of invocations that ran the procedure because no fresh result was cached
+   */
+  public long getCacheMisses() {
+    return cacheMisses;
+  }
+
+  public ProcedureStats setCacheMisses(long cacheMisses) {
+    this.cacheMisses = cacheMisses;
+    return this;
+  }
+
+  /**
+   * @return the number of evaluations of this procedure started by {@link HealthChecks#checkStatus(String)}
+   */
+  public long getEvaluations() {
+    return evaluations;
+  }
+
+  public ProcedureStats setEvaluations(long evaluations) {
+    this.evaluations = evaluations;
+    return this;
+  }
+
+  /**
+   * Callers requesting the status of a procedure while it is being evaluated share the in-progress evaluation,
+   * {@code evaluationCallers / evaluations} is the average number of callers served by an evaluation.
+   *
+   * @return the number of callers served by the evaluations of this procedure
+   */
+  public long getEvaluationCallers() {
+    return evaluationCallers;
+  }
+
+  public ProcedureStats setEvaluationCallers(long evaluationCallers) {
+    this.evaluationCallers = evaluationCallers;
+    return this;
+  }
+
+  /**
+   * @return the number of recorded invocation latencies
+   */
+  public long getLatencyCount() {
+    return latencyCount;
+  }
+
+  public ProcedureStats setLatencyCount(long latencyCount) {
+    this.latencyCount = latencyCount;
+    return this;
+  }
+
+  /**
+   * @return the median latency of the invocations in milliseconds
+   */
+  public double getLatencyP50() {
+    return latencyP50;
+  }
+
+  public ProcedureStats setLatencyP50(double latencyP50) {
+    this.latencyP50 = latencyP50;
+    return this;
+  }
+
+  /**
+   * @return the 90th percentile of the latencies of the invocations in milliseconds
+   */
+  public double getLatencyP90() {
+    return latencyP90;
+  }
+
+  public ProcedureStats setLatencyP90(double latencyP90) {
+    this.latencyP90 = latencyP90;
+    return this;
+  }
+
+  /**
+   * @return the 99th percentile of the latencies of the invocations in milliseconds
+   */
+  public double getLatencyP99() {
+    return latencyP99;
+  }
+
+  public ProcedureStats setLatencyP99(double latencyP99) {
+    this.latencyP99 = latencyP99;
+    return this;
+  }
+
+  /**
+   * @return the highest latency of the invocations in milliseconds
+   */
+  public double getLatencyMax() {
+    return latencyMax;
+  }
+
+  public ProcedureStats setLatencyMax(double latencyMax) {
+    this.latencyMax = latencyMax;
+    return this;
+  }
+}
@@ -0,0 +1,160 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options selecting the parts of a result returned by a status query, see
+ * {@link HealthChecks#checkStatus(String, QueryOptions)}.
+ * <p>
+ * The procedures are evaluated as usual, the options only prune the returned result: the outcome of the result and of
+ * each returned group is the one of the full tree.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class QueryOptions {
+
+  /**
+   * The depth of the returned result is not limited by default.
+   */
+  public static final int DEFAULT_MAX_DEPTH = -1;
+
+  /**
+   * All the procedures are returned by default.
+   */
+  public static final boolean DEFAULT_ONLY_DOWN = false;
+
+  /**
+   * The data of the procedures are returned by default.
+   */
+  public static final boolean DEFAULT_OMIT_DATA = false;
+
+  /**
+   * The nested results are returned by default.
+   */
+  public static final boolean DEFAULT_SUMMARY_ONLY = false;
+
+  private int maxDepth;
+  private boolean onlyDown;
+  private boolean omitData;
+  private boolean summaryOnly;
+
+  /**
+   * Creates a new instance of {@link QueryOptions} with default values.
+   */
+  public QueryOptions() {
+    maxDepth = DEFAULT_MAX_DEPTH;
+    onlyDown = DEFAULT_ONLY_DOWN;
+    omitData = DEFAULT_OMIT_DATA;
+    summaryOnly = DEFAULT_SUMMARY_ONLY;
+  }
+
+  /**
+   * Creates a new instance of {@link QueryOptions} by copying the given {@link QueryOptions}.
+   *
+   * @param other the options to copy, must not be {@code null}
+   */
+  public QueryOptions(QueryOptions other) {
+    this.maxDepth = other.maxDepth;
+    this.onlyDown = other.onlyDown;
+    this.omitData = other.omitData;
+    this.summaryOnly = other.summaryOnly;
+  }
+
+  /**
+   * Creates a new instance of {@link QueryOptions} from the given JSON structure.
+   *
+   * @param json the serialized form, must not be {@code null}
+   */
+  public QueryOptions(JsonObject json) {
+    this();
+    QueryOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * Builds the JSON representation of the current {@link QueryOptions} instance.
+   *
+   * @return the json object
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    QueryOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the maximum number of nested levels of the returned result, negative when not limited
+   */
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Sets the maximum number of nested levels of the returned result. The groups at the last returned level are
+   * returned with their outcome but without their nested results, e.g. {@code 1} returns the outcome of the direct
+   * procedures and groups of the queried one.
+   *
+   * @param maxDepth the maximum depth, a negative value does not limit the depth
+   * @return the current options
+   */
+  public QueryOptions setMaxDepth(int maxDepth) {
+    this.maxDepth = maxDepth;
+    return this;
+  }
+
+  /**
+   * @return whether only the procedures and groups reporting a {@code DOWN} outcome are returned
+   */
+  public boolean isOnlyDown() {
+    return onlyDown;
+  }
+
+  /**
+   * Sets whether only the procedures and groups reporting a {@code DOWN} outcome are returned, the groups reporting
+   * an {@code UP} outcome are returned without their nested results.
+   *
+   * @param onlyDown {@code true} to only return the {@code DOWN} branches
+   * @return the current options
+   */
+  public QueryOptions setOnlyDown(boolean onlyDown) {
+    this.onlyDown = onlyDown;
+    return this;
+  }
+
+  /**
+   * @return whether the data of the results are omitted
+   */
+  public boolean isOmitData() {
+    return omitData;
+  }
+
+  /**
+   * Sets whether the data of the results, including the failure causes and the latencies, are omitted.
+   *
+   * @param omitData {@code true} to omit the data
+   * @return the current options
+   */
+  public QueryOptions setOmitData(boolean omitData) {
+    this.omitData = omitData;
+    return this;
+  }
+
+  /**
+   * @return whether only the outcome of the queried procedure or group is returned
+   */
+  public boolean isSummaryOnly() {
+    return summaryOnly;
+  }
+
+  /**
+   * Sets whether only the outcome of the queried procedure or group is returned, without data nor nested results.
+   *
+   * @param summaryOnly {@code true} to only return the outcome
+   * @return the current options
+   */
+  public QueryOptions setSummaryOnly(boolean summaryOnly) {
+    this.summaryOnly = summaryOnly;
+    return this;
+  }
+}
@@ -1,9 +1,13 @@
 package io.vertx.ext.healthchecks;
 
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 /**
  * Represents the outcome of a health check procedure. Each procedure produces a {@link Status} indicating either OK
  * or KO. Optionally, it can also provide additional data.
@@ -14,6 +18,11 @@ import io.vertx.core.json.JsonObject;
 @JsonGen(publicConverter = false)
 public class Status {
 
+  private static final AtomicReferenceFieldUpdater<Status, JsonObject> DATA =
+    AtomicReferenceFieldUpdater.newUpdater(Status.class, JsonObject.class, "data");
+  // The metadata of a read-only status without metadata
+  private static final JsonObject NO_DATA = new JsonObject(Collections.emptyMap());
+
   /**
    * Creates a status when everything is fine.
    *
@@ -57,15 +66,21 @@ public class Status {
   private boolean ok;
 
   /**
-   * Optional metadata attached to the status.
+   * Optional metadata attached to the status, created on first access so statuses without data do not allocate it.
+   * A status may be read from several threads, the metadata is published atomically.
    */
-  private JsonObject data = new JsonObject();
+  private volatile JsonObject data;
 
   /**
    * Flag denoting a failure, such as a timeout or a procedure throwing an exception.
    */
   private boolean procedureInError;
 
+  /**
+   * Whether the status is read-only, set before the status is shared.
+   */
+  private boolean frozen;
+
   /**
    * Creates a new instance of {@link Status} with default values.
    */
@@ -118,6 +133,7 @@ public class Status {
    * @return the current status
    */
   public Status setOk(boolean ok) {
+    checkWritable();
     this.ok = ok;
     return this;
   }
@@ -144,7 +160,26 @@ public class Status {
    * @return the additional metadata.
    */
   public JsonObject getData() {
-    return data;
+    JsonObject res = data;
+    if (res == null) {
+      if (frozen) {
+        return NO_DATA;
+      }
+      res = new JsonObject();
+      if (!DATA.compareAndSet(this, null, res)) {
+        // Created concurrently by another reader
+        res = data;
+      }
+    }
+    return res;
+  }
+
+  /**
+   * @return whether the status has metadata, unlike {@link #getData()} it does not create the metadata object
+   */
+  public boolean hasData() {
+    JsonObject res = data;
+    return res != null && !res.isEmpty();
   }
 
   /**
@@ -154,6 +189,7 @@ public class Status {
    * @return the current status
    */
   public Status setData(JsonObject data) {
+    checkWritable();
     this.data = data;
     return this;
   }
@@ -172,7 +208,40 @@ public class Status {
    * @return the current status
    */
   public Status setProcedureInError(boolean procedureInError) {
+    checkWritable();
     this.procedureInError = procedureInError;
     return this;
   }
+
+  /**
+   * Makes this status read-only: the setters throw an {@link IllegalStateException} and the metadata can no longer be
+   * modified. The results reused across evaluations hold read-only statuses, so a caller cannot alter the result seen
+   * by the other callers.
+   *
+   * @return the current status
+   */
+  public Status freeze() {
+    if (!frozen) {
+      JsonObject res = data;
+      if (res != null) {
+        data = new JsonObject(Collections.unmodifiableMap(res.getMap()));
+      }
+      frozen = true;
+    }
+    return this;
+  }
+
+  /**
+   * @return whether the status is read-only
+   */
+  @GenIgnore
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  private void checkWritable() {
+    if (frozen) {
+      throw new IllegalStateException("The status is read-only");
+    }
+  }
 }
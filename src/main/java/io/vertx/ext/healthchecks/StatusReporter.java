@@ -0,0 +1,30 @@
+package io.vertx.ext.healthchecks;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * A procedure whose status is reported by the application instead of being computed on each evaluation.
+ * <p>
+ * Evaluations read the last reported status, the procedure is never invoked. Use it when the status is already known
+ * in memory, e.g. the connection state of a client. A reporter is created with
+ * {@link HealthChecks#registerReporter(String, long)}.
+ */
+@VertxGen
+public interface StatusReporter {
+
+  /**
+   * @return the name of the reported procedure
+   */
+  String name();
+
+  /**
+   * Reports the status of the procedure. It can be called from any thread.
+   *
+   * @param status the status, {@code null} reports the procedure as {@code UP}
+   * @return the current {@link StatusReporter}
+   */
+  @Fluent
+  StatusReporter report(@Nullable Status status);
+}
@@ -0,0 +1,87 @@
+package io.vertx.ext.healthchecks.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Derives the timeout of a procedure from a percentile of its recent latencies.
+ * <p>
+ * The latencies of the last {@link #WINDOW} completed invocations are kept in a ring buffer, the timeout is recomputed
+ * every {@link #PERIOD} invocations.
+ * <p>
+ * A timed out invocation is recorded at its deadline, a lower bound of its latency, and doubles the timeout up to the
+ * upper bound. When the latency steps above the timeout, the consecutive timeouts move the timeout back toward the
+ * upper bound until the invocations complete again, instead of reporting the procedure as {@code DOWN} until the
+ * window catches up.
+ */
+public class AdaptiveTimeout {
+
+  static final int WINDOW = 64;
+  static final int PERIOD = 8;
+
+  private final double multiplier;
+  private final double percentile;
+  private final long min;
+  private final long max;
+
+  // Guarded by this
+  private final long[] samples = new long[WINDOW];
+  private final long[] sorted = new long[WINDOW];
+  private long count;
+
+  private volatile long timeout;
+
+  /**
+   * @param multiplier the multiplier of the latency percentile
+   * @param percentile the latency percentile, in ]0, 100]
+   * @param min        the lower bound of the timeout in milliseconds
+   * @param max        the upper bound of the timeout in milliseconds, used until enough latencies are recorded
+   */
+  public AdaptiveTimeout(double multiplier, double percentile, long min, long max) {
+    this.multiplier = multiplier;
+    this.percentile = percentile;
+    this.min = min;
+    this.max = max;
+    this.timeout = max;
+  }
+
+  /**
+   * @return the current timeout in milliseconds
+   */
+  public long timeout() {
+    return timeout;
+  }
+
+  /**
+   * Records the latency of a completed invocation.
+   *
+   * @param latency the latency in nanoseconds
+   */
+  public synchronized void record(long latency) {
+    add(latency);
+  }
+
+  /**
+   * Records a timed out invocation.
+   *
+   * @param deadline the timeout of the invocation in milliseconds
+   */
+  public synchronized void timedOut(long deadline) {
+    add(TimeUnit.MILLISECONDS.toNanos(deadline));
+    timeout = Math.min(max, Math.max(timeout, deadline) * 2);
+  }
+
+  private void add(long latency) {
+    samples[(int) (count % WINDOW)] = latency;
+    count++;
+    if (count % PERIOD == 0) {
+      int size = (int) Math.min(count, WINDOW);
+      System.arraycopy(samples, 0, sorted, 0, size);
+      Arrays.sort(sorted, 0, size);
+      int rank = (int) Math.ceil(percentile / 100d * size) - 1;
+      long value = sorted[Math.max(0, Math.min(size - 1, rank))];
+      long millis = (long) Math.ceil(multiplier * value / TimeUnit.MILLISECONDS.toNanos(1));
+      timeout = Math.max(min, Math.min(max, millis));
+    }
+  }
+}
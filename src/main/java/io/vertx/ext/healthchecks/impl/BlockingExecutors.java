@@ -0,0 +1,51 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors running blocking procedures.
+ */
+public final class BlockingExecutors {
+
+  // A virtual thread per task, null when virtual threads are not available (Java < 21)
+  private static final ExecutorService VIRTUAL_THREADS = virtualThreads();
+
+  private BlockingExecutors() {
+  }
+
+  private static ExecutorService virtualThreads() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return whether blocking procedures run on virtual threads
+   */
+  public static boolean isVirtual() {
+    return VIRTUAL_THREADS != null;
+  }
+
+  /**
+   * Gets the executor running blocking procedures: a virtual thread per invocation when the JVM supports them,
+   * the Vert.x worker pool otherwise.
+   *
+   * @param vertx the Vert.x instance
+   * @return the executor
+   */
+  public static Executor blocking(Vertx vertx) {
+    if (VIRTUAL_THREADS != null) {
+      return VIRTUAL_THREADS;
+    }
+    return task -> vertx.executeBlocking(() -> {
+      task.run();
+      return null;
+    }, false);
+  }
+}
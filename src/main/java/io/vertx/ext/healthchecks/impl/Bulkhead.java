@@ -0,0 +1,82 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the procedures of a group on a dedicated worker pool, rejecting them once the pool and its queue are full.
+ * <p>
+ * The pool is closed once no group uses it anymore, the procedures dispatched afterwards are rejected.
+ * <p>
+ * Vert.x shares the worker pools by name across the whole Vert.x instance, and the first creation sets the size. The
+ * pool is therefore created under a name scoped to the health checks instance, so its size always applies and the
+ * pool is neither shared with the application nor with other health checks instances.
+ */
+public class Bulkhead implements Executor {
+
+  private final String name;
+  private final WorkerExecutor workers;
+  private final int poolSize;
+  private final int maxQueueSize;
+  // Maximum number of tasks running or waiting for a worker
+  private final long capacity;
+  private final AtomicInteger pending = new AtomicInteger();
+  private volatile boolean closed;
+
+  /**
+   * @param vertx        the Vert.x instance
+   * @param name         the name of the pool, as configured by the groups
+   * @param scopedName   the name the pool is created with, unique to the health checks instance
+   * @param poolSize     the number of workers
+   * @param maxQueueSize the maximum number of tasks waiting for a worker
+   */
+  public Bulkhead(Vertx vertx, String name, String scopedName, int poolSize, int maxQueueSize) {
+    this.name = name;
+    this.workers = vertx.createSharedWorkerExecutor(scopedName, poolSize);
+    this.poolSize = poolSize;
+    this.maxQueueSize = maxQueueSize;
+    this.capacity = (long) poolSize + maxQueueSize;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return whether the pool has the given size and queue size
+   */
+  public boolean matches(int poolSize, int maxQueueSize) {
+    return this.poolSize == poolSize && this.maxQueueSize == maxQueueSize;
+  }
+
+  /**
+   * Closes the worker pool.
+   */
+  public void close() {
+    closed = true;
+    workers.close();
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (closed) {
+      throw new RejectedExecutionException("The worker pool `" + name + "` is closed");
+    }
+    if (pending.incrementAndGet() > capacity) {
+      pending.decrementAndGet();
+      throw new RejectedExecutionException("The worker pool `" + name + "` is saturated");
+    }
+    workers.executeBlocking(() -> {
+      try {
+        task.run();
+      } finally {
+        pending.decrementAndGet();
+      }
+      return null;
+    }, false);
+  }
+}
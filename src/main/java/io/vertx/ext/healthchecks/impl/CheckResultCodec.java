@@ -0,0 +1,201 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.Status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Sends {@link CheckResult} trees on the event bus.
+ * <p>
+ * Local deliveries pass the read-only results returned by the health checks by reference, other results are copied.
+ * On the wire, each result is a flags byte followed by the
+ * fields it has: the id, the status (see {@link StatusCodec}), the failure message, the latency and the nested results.
+ * The outcome is not written, it is computed again from the decoded tree.
+ */
+public class CheckResultCodec implements MessageCodec<CheckResult, CheckResult> {
+
+  public static final String NAME = "vertx-health-checks-result";
+
+  private static final int ID = 1;
+  private static final int STATUS = 1 << 1;
+  private static final int FAILURE = 1 << 2;
+  private static final int PROCEDURE_FAILURE = 1 << 3;
+  private static final int LATENCY = 1 << 4;
+  private static final int CHECKS = 1 << 5;
+
+  // The event buses the default codecs were registered on, guarded by the class
+  private static final Set<EventBus> DEFAULT_CODECS = Collections.newSetFromMap(new WeakHashMap<>());
+  // The event buses the named codecs were registered on, guarded by the class
+  private static final Set<EventBus> NAMED_CODECS = Collections.newSetFromMap(new WeakHashMap<>());
+
+  /**
+   * Registers the codecs of {@link CheckResult} and {@link Status} as default codecs of the event bus of the given
+   * Vert.x instance, unless already registered by the health checks, see
+   * {@link io.vertx.ext.healthchecks.HealthChecksOptions#setEventBusCodecs(boolean)}.
+   *
+   * @param vertx the Vert.x instance
+   * @throws IllegalStateException when the application registered its own default codec for one of these classes
+   */
+  public static synchronized void register(Vertx vertx) {
+    EventBus eventBus = vertx.eventBus();
+    if (DEFAULT_CODECS.contains(eventBus)) {
+      return;
+    }
+    // A default codec is registered under its name as well, it replaces the named codec
+    boolean named = NAMED_CODECS.remove(eventBus);
+    if (named) {
+      eventBus.unregisterCodec(NAME);
+    }
+    try {
+      eventBus.registerDefaultCodec(CheckResult.class, new CheckResultCodec());
+      try {
+        eventBus.registerDefaultCodec(Status.class, new StatusCodec());
+      } catch (IllegalStateException e) {
+        eventBus.unregisterDefaultCodec(CheckResult.class);
+        throw e;
+      }
+    } catch (IllegalStateException e) {
+      if (named) {
+        registerNamed(vertx);
+      }
+      throw e;
+    }
+    DEFAULT_CODECS.add(eventBus);
+    if (named) {
+      NAMED_CODECS.add(eventBus);
+    }
+  }
+
+  /**
+   * Registers the codec of {@link CheckResult} under its {@link #NAME name}, unless already registered, for the
+   * messages sending results with an explicit codec name. The default codecs of the application are left untouched.
+   *
+   * @param vertx the Vert.x instance
+   */
+  public static synchronized void registerNamed(Vertx vertx) {
+    EventBus eventBus = vertx.eventBus();
+    // The default codec is registered under the same name
+    if (NAMED_CODECS.add(eventBus) && !DEFAULT_CODECS.contains(eventBus)) {
+      eventBus.registerCodec(new CheckResultCodec());
+    }
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, CheckResult result) {
+    write(buffer, result);
+  }
+
+  @Override
+  public CheckResult decodeFromWire(int pos, Buffer buffer) {
+    return read(new StatusCodec.Cursor(buffer, pos));
+  }
+
+  @Override
+  public CheckResult transform(CheckResult result) {
+    return copy(result);
+  }
+
+  /**
+   * Copies a result for a local delivery, a read-only result is shared.
+   */
+  private static CheckResult copy(CheckResult result) {
+    if (result.isFrozen()) {
+      return result;
+    }
+    CheckResult copy = new CheckResult()
+      .setId(result.getId())
+      .setFailure(result.getFailure())
+      .setLatency(result.getLatency());
+    if (result.getStatus() != null) {
+      copy.setStatus(StatusCodec.copy(result.getStatus()));
+    }
+    List<CheckResult> checks = result.getChecks();
+    if (checks != null) {
+      List<CheckResult> nested = new ArrayList<>(checks.size());
+      for (CheckResult check : checks) {
+        nested.add(copy(check));
+      }
+      copy.setChecks(nested);
+    }
+    return copy;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+
+  private static void write(Buffer buffer, CheckResult result) {
+    Throwable failure = result.getFailure();
+    List<CheckResult> checks = result.getChecks();
+    int flags = (result.getId() != null ? ID : 0)
+      | (result.getStatus() != null ? STATUS : 0)
+      | (failure != null ? FAILURE : 0)
+      | (failure instanceof ProcedureException ? PROCEDURE_FAILURE : 0)
+      | (result.getLatency() >= 0 ? LATENCY : 0)
+      | (checks != null ? CHECKS : 0);
+    buffer.appendByte((byte) flags);
+    if (result.getId() != null) {
+      StatusCodec.writeString(buffer, result.getId());
+    }
+    if (result.getStatus() != null) {
+      StatusCodec.write(buffer, result.getStatus());
+    }
+    if (failure != null) {
+      StatusCodec.writeString(buffer, failure.getMessage());
+    }
+    if (result.getLatency() >= 0) {
+      buffer.appendLong(result.getLatency());
+    }
+    if (checks != null) {
+      buffer.appendInt(checks.size());
+      for (CheckResult check : checks) {
+        write(buffer, check);
+      }
+    }
+  }
+
+  private static CheckResult read(StatusCodec.Cursor cursor) {
+    int flags = cursor.readByte();
+    CheckResult result = new CheckResult();
+    if ((flags & ID) != 0) {
+      result.setId(cursor.readString());
+    }
+    if ((flags & STATUS) != 0) {
+      result.setStatus(StatusCodec.read(cursor));
+    }
+    if ((flags & FAILURE) != 0) {
+      String message = cursor.readString();
+      result.setFailure((flags & PROCEDURE_FAILURE) != 0
+        ? new ProcedureException(message)
+        : new VertxException(message, true));
+    }
+    if ((flags & LATENCY) != 0) {
+      result.setLatency(cursor.readLong());
+    }
+    if ((flags & CHECKS) != 0) {
+      int size = cursor.readInt();
+      List<CheckResult> checks = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        checks.add(read(cursor));
+      }
+      result.setChecks(checks);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,233 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.ClusterHealthChecks;
+import io.vertx.ext.healthchecks.ClusterHealthChecksOptions;
+import io.vertx.ext.healthchecks.HealthChecks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Scatter-gathers the results of the nodes over the event bus.
+ * <p>
+ * Nodes publish a heartbeat on {@code <address>.announce}, each node keeps the last time it heard from the others.
+ * A query sends a request to {@code <address>.<node-id>} for every live node, with the node timeout as send timeout,
+ * and combines the replies. The combined result is cached for a short time and concurrent queries share the pending
+ * one, so a burst of queries does not trigger a health round per query on every node. Likewise, a node answers the
+ * queries of the other nodes with its local result cached for the same time, so a query does not trigger a health
+ * round on the queried node when several nodes probe the cluster.
+ */
+public class ClusterHealthChecksImpl implements ClusterHealthChecks {
+
+  private static final String NODE = "node";
+  private static final String LEAVING = "leaving";
+  // A node missing this number of heartbeats is not queried anymore
+  private static final int MISSED_HEARTBEATS = 3;
+
+  private final Vertx vertx;
+  private final HealthChecks healthChecks;
+  private final String nodeId;
+  private final String announceAddress;
+  private final String baseAddress;
+  private final long nodeTimeout;
+  private final long expiry;
+
+  // Last time each node was heard of, in nanoseconds
+  private final Map<String, Long> nodes = new ConcurrentHashMap<>();
+  private final MessageConsumer<JsonObject> announces;
+  private final MessageConsumer<Object> queries;
+  private final long heartbeatTimer;
+
+  // The last aggregated result of the cluster, and the last result of this node
+  private final SharedResult cluster;
+  private final SharedResult local;
+
+  public ClusterHealthChecksImpl(Vertx vertx, HealthChecks healthChecks, ClusterHealthChecksOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.healthChecks = Objects.requireNonNull(healthChecks);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(options.getAddress(), "The address must not be null");
+    Objects.requireNonNull(options.getNodeId(), "The node id must not be null");
+    if (options.getHeartbeatInterval() <= 0) {
+      throw new IllegalArgumentException("The heartbeat interval must be strictly positive");
+    }
+    if (options.getNodeTimeout() <= 0) {
+      throw new IllegalArgumentException("The node timeout must be strictly positive");
+    }
+    this.nodeId = options.getNodeId();
+    this.baseAddress = options.getAddress() + ".";
+    this.announceAddress = options.getAddress() + ".announce";
+    this.nodeTimeout = options.getNodeTimeout();
+    long cacheTtl = TimeUnit.MILLISECONDS.toNanos(Math.max(0, options.getCacheTtl()));
+    this.cluster = new SharedResult(cacheTtl, this::gather);
+    this.local = new SharedResult(cacheTtl, healthChecks::checkStatus);
+    this.expiry = TimeUnit.MILLISECONDS.toNanos(options.getHeartbeatInterval() * MISSED_HEARTBEATS);
+
+    // Replies name their codec, the default codecs of the application are left untouched
+    CheckResultCodec.registerNamed(vertx);
+    nodes.put(nodeId, System.nanoTime());
+    DeliveryOptions replies = new DeliveryOptions().setCodecName(CheckResultCodec.NAME);
+    queries = vertx.eventBus().consumer(baseAddress + nodeId, msg -> local.get()
+      .onSuccess(result -> msg.reply(result, replies))
+      .onFailure(err -> msg.fail(0, err.getMessage())));
+    announces = vertx.eventBus().consumer(announceAddress, msg -> {
+      JsonObject body = msg.body();
+      String node = body.getString(NODE);
+      if (node != null && !node.equals(nodeId)) {
+        if (body.getBoolean(LEAVING, false)) {
+          nodes.remove(node);
+        } else if (nodes.put(node, System.nanoTime()) == null) {
+          // Let a joining node learn about this node without waiting for the next heartbeat
+          announce(false);
+        }
+      }
+    });
+    // Announce once the consumers are registered, the other nodes may query this node right away
+    Future.all(queries.completion(), announces.completion()).onComplete(ar -> announce(false));
+    heartbeatTimer = vertx.setPeriodic(options.getHeartbeatInterval(), id -> announce(false));
+  }
+
+  private void announce(boolean leaving) {
+    JsonObject body = new JsonObject().put(NODE, nodeId);
+    if (leaving) {
+      body.put(LEAVING, true);
+    }
+    vertx.eventBus().publish(announceAddress, body);
+  }
+
+  @Override
+  public String nodeId() {
+    return nodeId;
+  }
+
+  @Override
+  public Future<CheckResult> checkStatus() {
+    return cluster.get();
+  }
+
+  private Future<CheckResult> gather() {
+    long now = System.nanoTime();
+    nodes.entrySet().removeIf(e -> !e.getKey().equals(nodeId) && now - e.getValue() > expiry);
+    List<String> ids = new ArrayList<>(nodes.keySet());
+    ids.sort(null);
+    List<Future<CheckResult>> results = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      results.add(query(id).map(res -> res.setId(id)));
+    }
+    return Future.join(results).map(cf -> {
+      List<CheckResult> checks = new ArrayList<>(results.size());
+      for (Future<CheckResult> result : results) {
+        checks.add(result.result());
+      }
+      CheckResult result = new CheckResult().setChecks(checks);
+      result.getUp();
+      return result;
+    });
+  }
+
+  private Future<CheckResult> query(String id) {
+    if (id.equals(nodeId)) {
+      return local.get()
+        .map(ClusterHealthChecksImpl::copyOf)
+        .recover(err -> Future.succeededFuture(CheckResult.from(id, err)));
+    }
+    DeliveryOptions options = new DeliveryOptions().setSendTimeout(nodeTimeout);
+    return vertx.eventBus().<CheckResult>request(baseAddress + id, null, options)
+      .map(msg -> copyOf(msg.body()))
+      .recover(err -> Future.succeededFuture(CheckResult.from(id, failure(err))));
+  }
+
+  /**
+   * Copies the top level of a result shared with other callers, its id is replaced by the node id.
+   */
+  private static CheckResult copyOf(CheckResult result) {
+    return new CheckResult()
+      .setStatus(result.getStatus())
+      .setFailure(result.getFailure())
+      .setChecks(result.getChecks())
+      .setLatency(result.getLatency());
+  }
+
+  private static Throwable failure(Throwable err) {
+    if (err instanceof ReplyException) {
+      ReplyFailure type = ((ReplyException) err).failureType();
+      if (type == ReplyFailure.TIMEOUT) {
+        return new ProcedureException("Timeout");
+      } else if (type == ReplyFailure.NO_HANDLERS) {
+        return new ProcedureException("Unreachable");
+      }
+    }
+    return err;
+  }
+
+  /**
+   * A result cached for a short time, concurrent callers share the computation in progress.
+   */
+  private final class SharedResult {
+
+    private final long ttl;
+    private final Supplier<Future<CheckResult>> compute;
+
+    // Guarded by this
+    private CheckResult cached;
+    private long cachedAt;
+    private Future<CheckResult> pending;
+
+    SharedResult(long ttl, Supplier<Future<CheckResult>> compute) {
+      this.ttl = ttl;
+      this.compute = compute;
+    }
+
+    Future<CheckResult> get() {
+      ContextInternal context = (ContextInternal) vertx.getOrCreateContext();
+      Promise<CheckResult> promise;
+      synchronized (this) {
+        if (cached != null && System.nanoTime() - cachedAt < ttl) {
+          return context.succeededFuture(cached);
+        }
+        Future<CheckResult> current = pending;
+        if (current == null) {
+          Future<CheckResult> started = compute.get();
+          current = started;
+          pending = started;
+          started.onComplete(ar -> {
+            synchronized (this) {
+              if (pending == started) {
+                pending = null;
+              }
+              if (ar.succeeded() && ttl > 0) {
+                cached = ar.result();
+                cachedAt = System.nanoTime();
+              }
+            }
+          });
+        }
+        promise = context.promise();
+        current.onComplete(promise);
+      }
+      return promise.future();
+    }
+  }
+
+  @Override
+  public Future<Void> close() {
+    vertx.cancelTimer(heartbeatTimer);
+    announce(true);
+    return Future.join(queries.unregister(), announces.unregister()).mapEmpty();
+  }
+}
@@ -1,5 +1,8 @@
 package io.vertx.ext.healthchecks.impl;
 
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.ext.healthchecks.GroupOptions;
+
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -10,4 +13,28 @@ public interface CompositeProcedure extends Procedure {
   boolean remove(String name);
 
   Procedure get(String name);
+
+  GroupOptions getOptions();
+
+  CompositeProcedure setOptions(GroupOptions options);
+
+  /**
+   * @return the event loop contexts the shards of the group are started on, {@code null} when sharding is disabled
+   */
+  ContextInternal[] getShardContexts();
+
+  /**
+   * Sets the event loop contexts the shards of the group are started on.
+   *
+   * @param contexts the contexts, {@code null} to disable sharding
+   * @return the current group
+   */
+  CompositeProcedure setShardContexts(ContextInternal[] contexts);
+
+  /**
+   * Adjusts the number of procedures DOWN in this group and its enclosing groups.
+   *
+   * @param delta the change of the number of procedures DOWN
+   */
+  void adjustDown(int delta);
 }
@@ -1,84 +1,540 @@
 package io.vertx.ext.healthchecks.impl;
 
 import io.vertx.core.Handler;
+import io.vertx.core.internal.ContextInternal;
 import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.GroupOptions;
+import io.vertx.ext.healthchecks.ProcedureStats;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
 public class DefaultCompositeProcedure implements CompositeProcedure {
 
-  private Map<String, Procedure> children = new HashMap<>();
+  // Immutable, replaced on registration changes so evaluations and lookups never lock nor copy
+  private volatile Children children = Children.EMPTY;
+  private volatile GroupOptions options = new GroupOptions();
+  // Event loops the shards are started on, null when sharding is disabled
+  private volatile ContextInternal[] shardContexts;
+  // Fail-fast evaluation enabled for the whole tree
+  private final boolean failFast;
+  // Whether the latency is reported in the data of the results
+  private final boolean reportLatency;
+  // Schedules the group timeouts, null when the group timeout is not supported
+  private final TimeoutWheel timeouts;
+  private final LatencyHistogram histogram = new LatencyHistogram();
+  // The completion state of the last evaluation, reused by the next one
+  private final AtomicReference<Round> idle = new AtomicReference<>();
+  // Number of procedures DOWN in this group and its sub-groups, written under the lock, and the enclosing group
+  private volatile int down;
+  private CompositeProcedure parent;
+
+  public DefaultCompositeProcedure() {
+    this(false, false, null);
+  }
+
+  public DefaultCompositeProcedure(boolean failFast, boolean reportLatency, TimeoutWheel timeouts) {
+    this.failFast = failFast;
+    this.reportLatency = reportLatency;
+    this.timeouts = timeouts;
+  }
 
   @Override
   public DefaultCompositeProcedure add(String name, Procedure check) {
     Objects.requireNonNull(name);
     Objects.requireNonNull(check);
 
+    Procedure previous;
     synchronized (this) {
-      children.put(name, check);
+      previous = children.index.get(name);
+      children = children.put(name, check);
+    }
+    // Outside the lock of the group: a procedure locks itself before its enclosing groups
+    if (previous != null && previous != check) {
+      previous.parent(null);
     }
+    check.parent(this);
 
     return this;
   }
 
   @Override
-  public synchronized boolean remove(String name) {
+  public boolean remove(String name) {
     Objects.requireNonNull(name);
-    return children.remove(name) != null;
+    Procedure removed;
+    synchronized (this) {
+      removed = children.index.get(name);
+      children = children.remove(name);
+    }
+    if (removed == null) {
+      return false;
+    }
+    removed.parent(null);
+    return true;
+  }
+
+  @Override
+  public ContextInternal[] getShardContexts() {
+    return shardContexts;
+  }
+
+  @Override
+  public DefaultCompositeProcedure setShardContexts(ContextInternal[] contexts) {
+    this.shardContexts = contexts;
+    return this;
+  }
+
+  @Override
+  public synchronized void adjustDown(int delta) {
+    down += delta;
+    if (parent != null) {
+      parent.adjustDown(delta);
+    }
+  }
+
+  @Override
+  public int down() {
+    return down;
   }
 
   @Override
-  public synchronized Procedure get(String name) {
-    return children.get(name);
+  public synchronized void parent(CompositeProcedure parent) {
+    if (down != 0 && this.parent != null) {
+      this.parent.adjustDown(-down);
+    }
+    this.parent = parent;
+    if (down != 0 && parent != null) {
+      parent.adjustDown(down);
+    }
+  }
+
+  @Override
+  public Procedure get(String name) {
+    return children.index.get(name);
+  }
+
+  @Override
+  public GroupOptions getOptions() {
+    return options;
+  }
+
+  @Override
+  public DefaultCompositeProcedure setOptions(GroupOptions options) {
+    this.options = new GroupOptions(Objects.requireNonNull(options));
+    return this;
+  }
+
+  @Override
+  public ProcedureStats stats() {
+    ProcedureStats stats = new ProcedureStats();
+    for (Procedure child : children.procedures) {
+      ProcedureStats s = child.stats();
+      stats.setCacheHits(stats.getCacheHits() + s.getCacheHits());
+      stats.setCacheMisses(stats.getCacheMisses() + s.getCacheMisses());
+    }
+    return histogram.fill(stats);
+  }
+
+  @Override
+  public CheckResult snapshot() {
+    Children current = children;
+    List<CheckResult> checks = new ArrayList<>(current.size());
+    for (int i = 0; i < current.size(); i++) {
+      CheckResult json = current.procedures[i].snapshot();
+      if (json.getId() == null) {
+        json = named(json, current.names[i]);
+      }
+      checks.add(json);
+    }
+    // Returned to every caller in background evaluation
+    return new CheckResult().setChecks(checks).freeze();
+  }
+
+  @Override
+  public void close() {
+    for (Procedure child : children.procedures) {
+      child.close();
+    }
+  }
+
+  @Override
+  public long cost() {
+    long cost = 0L;
+    for (Procedure child : children.procedures) {
+      cost = Math.max(cost, child.cost());
+    }
+    return cost;
   }
 
   @Override
   public void check(Handler<CheckResult> resultHandler) {
-    List<Map.Entry<String, Procedure>> copy;
-    synchronized (this) {
-      copy = new ArrayList<>(children.entrySet());
+    Children current = children;
+    GroupOptions opts = options;
+
+    int size = current.size();
+    if (size == 0) {
+      resultHandler.handle(new CheckResult().setChecks(new ArrayList<>(0)));
+      return;
+    }
+
+    boolean ff = failFast || opts.isFailFast();
+    long timeout = timeouts != null ? opts.getTimeout() : 0L;
+    ContextInternal[] contexts = shardContexts;
+    if (contexts != null && !opts.isCheapestFirst() && opts.getMaxConcurrency() <= 0
+      && size >= Math.max(2, opts.getShardThreshold())) {
+      round(current, size, ff).shard(contexts, timeout, resultHandler);
+      return;
+    }
+
+    int[] order = null;
+    int limit = size;
+    if (opts.isCheapestFirst()) {
+      order = cheapestFirst(current);
+      // Only fail-fast groups skip the costly children, the others keep evaluating their children concurrently
+      if (ff) {
+        limit = 1;
+      }
     }
+    if (opts.getMaxConcurrency() > 0) {
+      limit = Math.min(size, opts.getMaxConcurrency());
+    }
+    round(current, limit, ff).start(order, timeout, resultHandler);
+  }
 
-    List<CheckResult> checks = new ArrayList<>();
-    int size = copy.size();
-    CheckResult[] completed = new CheckResult[size];
+  /**
+   * Gets the idle round when it matches the current children and settings, or creates a new one.
+   */
+  private Round round(Children current, int limit, boolean ff) {
+    Round round = idle.getAndSet(null);
+    if (round == null || round.children != current || round.limit != limit || round.failFast != ff) {
+      round = new Round(current, limit, ff);
+    }
+    return round;
+  }
 
-    Runnable task = () -> {
-      for (int j = 0;j < size;j++) {
-        CheckResult json = completed[j];
-        if (json.getId() == null) {
-          json.setId(copy.get(j).getKey());
+  /**
+   * Orders the children by increasing cost.
+   */
+  private static int[] cheapestFirst(Children current) {
+    int size = current.size();
+    long[] costs = new long[size];
+    Integer[] indexes = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      costs[i] = current.procedures[i].cost();
+      indexes[i] = i;
+    }
+    Arrays.sort(indexes, Comparator.comparingLong(i -> costs[i]));
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = indexes[i];
+    }
+    return order;
+  }
+
+  /**
+   * An evaluation of the children, starting at most {@code limit} children at a time.
+   * <p>
+   * Children are started from a drain loop: a child completing synchronously re-enters the loop, which only records
+   * the freed slot, so the stack depth does not grow with the number of children.
+   * <p>
+   * When the group has a timeout, the round completes when it expires, the children not completed yet being reported
+   * as pending. The children still queued are not started anymore.
+   * <p>
+   * A sharded round splits the children in contiguous ranges started on distinct event loops instead. Each child
+   * writes its own slot of the completed array, the last completion assembles the result.
+   * <p>
+   * Once every child has completed, the result is assembled and the deadline is released, the round is kept for the next evaluation, so a
+   * steady-state evaluation does not allocate its completion state. When every child returns the same result instance
+   * as in the previous evaluation, e.g. unchanged statuses, the previous result of the group is returned as well.
+   */
+  private final class Round {
+
+    private final Children children;
+    private final int limit;
+    private final boolean failFast;
+    private final AtomicReferenceArray<CheckResult> completed;
+    // The completion handler of each child, bound to its index
+    private final Handler<CheckResult>[] handlers;
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final AtomicInteger permits = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean done = new AtomicBoolean();
+    // Released to the group when the children have completed, the result is assembled and the deadline is released
+    private final AtomicInteger holds = new AtomicInteger();
+    // Reused with the round, null when the group timeout is not supported
+    private final TimeoutWheel.Timeout deadline = timeouts != null ? new TimeoutWheel.Timeout(this::expire) : null;
+    // The results of the previous evaluation, only accessed when assembling the result
+    private final CheckResult[] previous;
+    private CheckResult previousResult;
+
+    // Set when the round starts
+    private Handler<CheckResult> resultHandler;
+    private int[] order;
+    private boolean sharded;
+    private long start;
+    private boolean armed;
+    // Only accessed from the drain loop
+    private int next;
+
+    @SuppressWarnings("unchecked")
+    Round(Children children, int limit, boolean failFast) {
+      this.children = children;
+      this.limit = limit;
+      this.failFast = failFast;
+      int size = children.size();
+      this.completed = new AtomicReferenceArray<>(size);
+      this.previous = new CheckResult[size];
+      this.handlers = new Handler[size];
+      for (int i = 0; i < size; i++) {
+        int idx = i;
+        handlers[i] = res -> completed(idx, res);
+      }
+    }
+
+    private void reset(int[] order, boolean sharded, long timeout, Handler<CheckResult> resultHandler) {
+      for (int i = 0; i < children.size(); i++) {
+        completed.set(i, null);
+      }
+      this.order = order;
+      this.sharded = sharded;
+      this.resultHandler = resultHandler;
+      this.next = 0;
+      this.start = System.nanoTime();
+      remaining.set(children.size());
+      permits.set(limit);
+      done.set(false);
+      armed = timeout > 0L;
+      holds.set(armed ? 3 : 2);
+      if (armed) {
+        timeouts.schedule(deadline, timeout);
+      }
+    }
+
+    void start(int[] order, long timeout, Handler<CheckResult> resultHandler) {
+      reset(order, false, timeout, resultHandler);
+      drain();
+    }
+
+    void shard(ContextInternal[] contexts, long timeout, Handler<CheckResult> resultHandler) {
+      reset(null, true, timeout, resultHandler);
+      int size = children.size();
+      int count = Math.min(contexts.length, size);
+      for (int s = 0; s < count; s++) {
+        int from = (int) ((long) s * size / count);
+        int to = (int) ((long) (s + 1) * size / count);
+        contexts[s].runOnContext(v -> {
+          for (int idx = from; idx < to && !done.get(); idx++) {
+            children.procedures[idx].check(handlers[idx]);
+          }
+        });
+      }
+    }
+
+    void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      while (true) {
+        while (next < children.size() && !done.get() && permits.get() > 0) {
+          permits.decrementAndGet();
+          int idx = order != null ? order[next] : next;
+          next++;
+          children.procedures[idx].check(handlers[idx]);
+        }
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    private void completed(int idx, CheckResult res) {
+      completed.set(idx, res);
+      int left = remaining.decrementAndGet();
+      if (failFast && !res.getUp()) {
+        // The outcome of the group is certain
+        complete();
+      } else if (left == 0) {
+        complete();
+      } else if (!sharded) {
+        permits.incrementAndGet();
+        drain();
+      }
+      if (left == 0) {
+        release();
+      }
+    }
+
+    private void expire() {
+      complete();
+      // The deadline is released by its expiration
+      release();
+    }
+
+    private void release() {
+      if (holds.decrementAndGet() == 0) {
+        idle.set(this);
+      }
+    }
+
+    private void complete() {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      // When the cancellation fails, the deadline is expiring and releases itself
+      if (armed && timeouts.cancel(deadline)) {
+        release();
+      }
+      Handler<CheckResult> handler = resultHandler;
+      CheckResult result = reusable() ? previousResult : assemble();
+
+      long elapsed = System.nanoTime() - start;
+      histogram.record(elapsed);
+      if (reportLatency) {
+        result.setLatency(elapsed);
+      }
+      // The result may be reused by the next evaluations and returned to other callers
+      result.freeze();
+      resultHandler = null;
+      release();
+
+      handler.handle(result);
+    }
+
+    /**
+     * @return whether every child completed with the same result as in the previous evaluation
+     */
+    private boolean reusable() {
+      if (previousResult == null || reportLatency) {
+        return false;
+      }
+      for (int j = 0; j < previous.length; j++) {
+        if (completed.get(j) != previous[j]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private CheckResult assemble() {
+      int size = children.size();
+      boolean complete = true;
+      List<CheckResult> checks = new ArrayList<>(size);
+      for (int j = 0; j < size; j++) {
+        CheckResult json = completed.get(j);
+        if (json == null) {
+          json = DefaultProcedure.pending(children.names[j]);
+          complete = false;
+        } else if (json.getId() == null) {
+          json = named(json, children.names[j]);
         }
         checks.add(json);
       }
 
       CheckResult result = new CheckResult();
       result.setChecks(checks);
+      // Aggregate the outcome once, bottom-up, the nested results being already aggregated
+      result.getUp();
 
-      resultHandler.handle(result);
-    };
+      if (complete) {
+        for (int j = 0; j < size; j++) {
+          // The completed results, not their named copies, are compared by the next evaluation
+          previous[j] = completed.get(j);
+        }
+        previousResult = result;
+      } else {
+        previousResult = null;
+      }
+      return result;
+    }
+  }
 
-    if (size == 0) {
-      task.run();
-      return;
+  /**
+   * Names a nested result, a read-only result is copied.
+   */
+  private static CheckResult named(CheckResult result, String name) {
+    if (!result.isFrozen()) {
+      return result.setId(name);
     }
+    return new CheckResult()
+      .setId(name)
+      .setStatus(result.getStatus())
+      .setFailure(result.getFailure())
+      .setChecks(result.getChecks())
+      .setLatency(result.getLatency())
+      .freeze();
+  }
 
-    AtomicInteger count = new AtomicInteger(size);
+  /**
+   * An immutable view of the children, in registration order.
+   */
+  private static final class Children {
 
+    static final Children EMPTY = new Children(new String[0], new Procedure[0], Collections.emptyMap());
 
-    for (int i = 0; i < size; i++) {
-      int idx = i;
-      Map.Entry<String, Procedure> entry = copy.get(idx);
-      entry.getValue().check(res -> {
-        completed[idx] = res;
-        if (count.decrementAndGet() == 0) {
-          task.run();
+    final String[] names;
+    final Procedure[] procedures;
+    final Map<String, Procedure> index;
+
+    private Children(String[] names, Procedure[] procedures, Map<String, Procedure> index) {
+      this.names = names;
+      this.procedures = procedures;
+      this.index = index;
+    }
+
+    int size() {
+      return names.length;
+    }
+
+    private int indexOf(String name) {
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].equals(name)) {
+          return i;
         }
-      });
+      }
+      return -1;
+    }
+
+    Children put(String name, Procedure procedure) {
+      int idx = indexOf(name);
+      String[] n;
+      Procedure[] p;
+      if (idx >= 0) {
+        n = names;
+        p = procedures.clone();
+        p[idx] = procedure;
+      } else {
+        n = Arrays.copyOf(names, names.length + 1);
+        p = Arrays.copyOf(procedures, procedures.length + 1);
+        n[names.length] = name;
+        p[procedures.length] = procedure;
+      }
+      Map<String, Procedure> i = new HashMap<>(index);
+      i.put(name, procedure);
+      return new Children(n, p, Collections.unmodifiableMap(i));
+    }
+
+    Children remove(String name) {
+      int idx = indexOf(name);
+      if (idx < 0) {
+        return this;
+      }
+      String[] n = new String[names.length - 1];
+      Procedure[] p = new Procedure[procedures.length - 1];
+      System.arraycopy(names, 0, n, 0, idx);
+      System.arraycopy(names, idx + 1, n, idx, names.length - idx - 1);
+      System.arraycopy(procedures, 0, p, 0, idx);
+      System.arraycopy(procedures, idx + 1, p, idx, procedures.length - idx - 1);
+      Map<String, Procedure> i = new HashMap<>(index);
+      i.remove(name);
+      return new Children(n, p, Collections.unmodifiableMap(i));
     }
   }
 }
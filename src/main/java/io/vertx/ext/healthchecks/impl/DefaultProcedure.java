@@ -4,61 +4,482 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.ProcedureOptions;
+import io.vertx.ext.healthchecks.ProcedureStats;
 import io.vertx.ext.healthchecks.Status;
 
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
 public class DefaultProcedure implements Procedure {
 
+  private static final String TIMEOUT = "Timeout";
+  // Shared by the timed out invocations, it has no stack trace
+  private static final ProcedureException TIMEOUT_FAILURE = new ProcedureException(TIMEOUT, false);
+
   private final Handler<Promise<Status>> handler;
   private final String name;
 
   private final Vertx vertx;
   private final long timeout;
+  // Derives the timeout from the observed latencies, the fixed timeout is used when null
+  private final AdaptiveTimeout adaptiveTimeout;
+  // Shared deadline scheduler, a timer per invocation is used when null
+  private final TimeoutWheel timeouts;
+  // Runs the handler off the calling thread, the handler is called directly when null
+  private final Executor executor;
+  // Resolves the worker pool of the enclosing groups on each invocation, it takes precedence over the executor
+  private final Supplier<Executor> workerPool;
+  // The context the handler is invoked on, the calling context when null
+  private final ContextInternal context;
+
+  // Cache TTL of the procedure in nanoseconds, -1 when inherited from the enclosing groups
+  private final long cacheTtl;
+  // Resolves the cache TTL inherited from the enclosing groups on each invocation, caching is disabled when null
+  private final LongSupplier inheritedCacheTtl;
+  private volatile CachedResult cached;
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+
+  // Circuit breaker, disabled when the threshold is 0
+  private final int breakerThreshold;
+  private final long breakerBackoff;
+  private final AtomicInteger failures = new AtomicInteger();
+  private final AtomicBoolean trial = new AtomicBoolean();
+  private volatile long openedAt;
+  private volatile String lastFailure;
+  // The result of the invocations skipped by the breaker, reused until the breaker state changes
+  private volatile SkippedResult skipped;
+
+  private volatile CheckResult latest;
+  private volatile long latency;
+  private final LatencyHistogram histogram = new LatencyHistogram();
+  // Whether the latency is reported in the data of the results
+  private final boolean reportLatency;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  // The completed invocation reused by the next one
+  private final AtomicReference<Invocation> idle = new AtomicReference<>();
+  // Whether the last known result is DOWN, and the group counting it, guarded by this
+  private boolean down = true;
+  private CompositeProcedure parent;
+  private long refreshTimer = -1L;
 
   public DefaultProcedure(Vertx vertx, String name, long timeout,
                    Handler<Promise<Status>> handler) {
+    this(vertx, name, new ProcedureOptions().setTimeout(timeout), new Dispatch(), handler);
+  }
+
+  /**
+   * @param vertx    the Vert.x instance
+   * @param name     the name of the procedure
+   * @param options  the options of the procedure
+   * @param dispatch how the procedure is invoked and reports its results
+   * @param handler  the procedure
+   */
+  public DefaultProcedure(Vertx vertx, String name, ProcedureOptions options, Dispatch dispatch,
+                   Handler<Promise<Status>> handler) {
     Objects.requireNonNull(vertx);
     Objects.requireNonNull(name);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(dispatch);
     Objects.requireNonNull(handler);
-    this.timeout = timeout;
+    this.timeout = options.getTimeout();
+    this.adaptiveTimeout = options.getAdaptiveTimeoutMultiplier() > 0
+      ? new AdaptiveTimeout(options.getAdaptiveTimeoutMultiplier(), options.getAdaptiveTimeoutPercentile(),
+      options.getMinTimeout(), options.getTimeout())
+      : null;
+    this.cacheTtl = options.getCacheTtl() >= 0 ? TimeUnit.MILLISECONDS.toNanos(options.getCacheTtl()) : -1L;
+    this.breakerThreshold = options.getBreakerThreshold();
+    this.breakerBackoff = TimeUnit.MILLISECONDS.toNanos(options.getBreakerBackoff());
     this.name = name;
     this.handler = handler;
     this.vertx = vertx;
+    this.timeouts = dispatch.timeouts;
+    this.executor = dispatch.executor;
+    this.workerPool = dispatch.workerPool;
+    this.inheritedCacheTtl = dispatch.cacheTtl;
+    this.context = dispatch.context;
+    this.reportLatency = dispatch.reportLatency;
+  }
+
+  /**
+   * Wraps a blocking procedure, the returned handler must be called from a thread that can block.
+   */
+  public static Handler<Promise<Status>> blocking(Callable<Status> procedure) {
+    Objects.requireNonNull(procedure);
+    return promise -> {
+      Status status;
+      try {
+        status = procedure.call();
+      } catch (Exception e) {
+        promise.tryFail(new ProcedureException(e));
+        return;
+      }
+      promise.tryComplete(status);
+    };
+  }
+
+  /**
+   * @return the cache TTL in nanoseconds, {@code 0} when caching is disabled
+   */
+  private long cacheTtl() {
+    if (cacheTtl >= 0) {
+      return cacheTtl;
+    }
+    return inheritedCacheTtl != null ? inheritedCacheTtl.getAsLong() : 0L;
   }
 
   @Override
   public void check(Handler<CheckResult> resultHandler) {
+    long ttl = cacheTtl();
+    if (ttl > 0) {
+      CachedResult last = cached;
+      // Compared with the current TTL, so a TTL changed by a group applies to the cached result
+      if (last != null && System.nanoTime() - last.cachedAt < ttl) {
+        cacheHits.increment();
+        resultHandler.handle(last.result);
+        return;
+      }
+    }
+    if (breakerThreshold > 0) {
+      int n = failures.get();
+      if (n >= breakerThreshold) {
+        long elapsed = System.nanoTime() - openedAt;
+        if (elapsed < breakerBackoff) {
+          resultHandler.handle(shortCircuit("open", n, breakerBackoff - elapsed));
+          return;
+        }
+        // Let a single trial invocation through
+        if (!trial.compareAndSet(false, true)) {
+          resultHandler.handle(shortCircuit("half-open", n, 0L));
+          return;
+        }
+      }
+    }
+    if (ttl > 0) {
+      // Only the invocations count as misses, not the ones skipped by the breaker
+      cacheMisses.increment();
+    }
     try {
-      Promise<Status> promise = Promise.promise();
-      promise.future().onComplete(ar -> resultHandler.handle(from(name, ar)));
-
-      if (timeout >= 0) {
-        vertx.setTimer(timeout, l -> promise.tryFail(new ProcedureException("Timeout")));
+      Executor dispatcher = workerPool != null ? workerPool.get() : null;
+      if (dispatcher == null) {
+        dispatcher = executor;
+      }
+      // When dispatched, the procedure completes on another thread, the result is delivered on the calling context,
+      // or on the pinned context
+      Promise<Status> promise;
+      if (dispatcher == null) {
+        promise = Promise.promise();
+      } else if (context != null) {
+        promise = context.promise();
+      } else {
+        promise = ((ContextInternal) vertx.getOrCreateContext()).promise();
+      }
+      Invocation invocation = idle.getAndSet(null);
+      if (invocation == null) {
+        invocation = new Invocation();
       }
+      invocation.start(promise, resultHandler);
+      promise.future().onComplete(invocation);
 
-      try {
-        handler.handle(promise);
-      } catch (Exception e) {
-        promise.tryFail(new ProcedureException(e));
+      if (dispatcher == null) {
+        if (context == null || Vertx.currentContext() == context) {
+          invoke(promise);
+        } else {
+          context.runOnContext(v -> invoke(promise));
+        }
+      } else {
+        try {
+          dispatcher.execute(() -> invoke(promise));
+        } catch (RejectedExecutionException e) {
+          promise.tryFail(new ProcedureException(e));
+        }
       }
     } catch (Exception e) {
       e.printStackTrace();
     }
   }
 
+  /**
+   * Reuses the last result when the procedure reports the same outcome without data, so a steady-state invocation
+   * does not allocate a new result. The reused result is read-only, it is returned to every caller.
+   *
+   * @return the last result, or {@code null} when it cannot be reused
+   */
+  private CheckResult unchanged(AsyncResult<Status> ar) {
+    CheckResult last = latest;
+    if (reportLatency || last == null || ar.failed() || last.getFailure() != null) {
+      return null;
+    }
+    Object value = ar.result();
+    Status status = last.getStatus();
+    if (value == null) {
+      return status == null ? last : null;
+    }
+    if (!(value instanceof Status) || status == null) {
+      return null;
+    }
+    Status current = (Status) value;
+    if (current.isOk() == status.isOk() && current.isProcedureInError() == status.isProcedureInError()
+      && !current.hasData() && !status.hasData()) {
+      return last;
+    }
+    return null;
+  }
+
+  /**
+   * The state of an invocation: its deadline and its completion handler. Once completed, the invocation is kept for
+   * the next one, so a steady-state invocation does not allocate its deadline. An invocation whose deadline is
+   * expiring concurrently is not reused, the expiring deadline still refers to it.
+   */
+  private final class Invocation implements Handler<AsyncResult<Status>> {
+
+    // Reused with the invocation, null when deadlines use a timer per invocation
+    private final TimeoutWheel.Timeout deadline = timeouts != null ? new TimeoutWheel.Timeout(this::expire) : null;
+    private Promise<Status> promise;
+    private Handler<CheckResult> resultHandler;
+    private long start;
+    private long delay;
+    private long timerId = -1L;
+
+    void start(Promise<Status> promise, Handler<CheckResult> resultHandler) {
+      this.promise = promise;
+      this.resultHandler = resultHandler;
+      this.start = System.nanoTime();
+      delay = adaptiveTimeout != null ? adaptiveTimeout.timeout() : timeout;
+      if (delay >= 0) {
+        if (deadline != null) {
+          timeouts.schedule(deadline, delay);
+        } else {
+          timerId = vertx.setTimer(delay, l -> promise.tryFail(TIMEOUT_FAILURE));
+        }
+      }
+    }
+
+    private void expire() {
+      promise.tryFail(TIMEOUT_FAILURE);
+    }
+
+    @Override
+    public void handle(AsyncResult<Status> ar) {
+      // Release the deadline as soon as the procedure completes
+      boolean reusable = false;
+      if (deadline != null) {
+        reusable = timeouts.cancel(deadline) || isTimeout(ar);
+      } else if (timerId != -1L) {
+        vertx.cancelTimer(timerId);
+        timerId = -1L;
+      }
+      long elapsed = System.nanoTime() - start;
+      latency = elapsed;
+      histogram.record(elapsed);
+      if (adaptiveTimeout != null) {
+        if (isTimeout(ar)) {
+          adaptiveTimeout.timedOut(delay);
+        } else {
+          adaptiveTimeout.record(elapsed);
+        }
+      }
+      CheckResult result = unchanged(ar);
+      if (result == null) {
+        result = from(name, ar);
+        if (reportLatency) {
+          result.setLatency(elapsed);
+        }
+        result.freeze();
+      }
+      if (breakerThreshold > 0) {
+        recordOutcome(result);
+      }
+      latest = result;
+      updateDown(!result.getUp());
+      if (cacheTtl() > 0) {
+        cached = new CachedResult(result, System.nanoTime());
+      }
+      Handler<CheckResult> handler = resultHandler;
+      if (reusable) {
+        resultHandler = null;
+        idle.set(this);
+      }
+      handler.handle(result);
+    }
+  }
+
+  private static boolean isTimeout(AsyncResult<?> ar) {
+    return ar.failed() && ar.cause() == TIMEOUT_FAILURE;
+  }
+
+  private void recordOutcome(CheckResult result) {
+    if (result.getUp()) {
+      failures.set(0);
+    } else {
+      lastFailure = causeOf(result);
+      if (failures.get() + 1 >= breakerThreshold) {
+        // Opens the breaker, or re-opens it after a failed trial, before counting the failure so a caller seeing the
+        // breaker open sees when it opened
+        openedAt = System.nanoTime();
+      }
+      failures.incrementAndGet();
+    }
+    trial.set(false);
+  }
+
+  /**
+   * @return the cause of a {@code DOWN} result: the failure message or the {@code cause} entry of the status data
+   */
+  private static String causeOf(CheckResult result) {
+    if (result.getFailure() != null) {
+      return result.getFailure().getMessage();
+    }
+    Status status = result.getStatus();
+    Object cause = status != null && status.hasData() ? status.getData().getValue("cause") : null;
+    return cause != null ? cause.toString() : null;
+  }
+
+  /**
+   * Gets the result of an invocation skipped by the circuit breaker. The result is created once per breaker state and
+   * opening, its {@code retry-in} entry is the delay remaining when the first invocation was skipped.
+   */
+  private CheckResult shortCircuit(String state, int failures, long retryIn) {
+    long opened = openedAt;
+    SkippedResult last = skipped;
+    if (last != null && last.openedAt == opened && last.state.equals(state) && last.failures == failures) {
+      return last.result;
+    }
+    JsonObject data = new JsonObject()
+      .put("cause", lastFailure)
+      .put("circuit-breaker", new JsonObject()
+        .put("state", state)
+        .put("failures", failures)
+        .put("retry-in", TimeUnit.NANOSECONDS.toMillis(retryIn)));
+    CheckResult result = CheckResult.from(name, Status.KO(data).setProcedureInError(true)).freeze();
+    skipped = new SkippedResult(opened, state, failures, result);
+    latest = result;
+    updateDown(true);
+    return result;
+  }
+
+  private void invoke(Promise<Status> promise) {
+    try {
+      handler.handle(promise);
+    } catch (Exception e) {
+      promise.tryFail(new ProcedureException(e));
+    }
+  }
+
+  /**
+   * Periodically invokes the procedure in the background. The first invocation is delayed by a random amount of time
+   * lower than the interval, so procedures registered together do not all run on the same tick.
+   *
+   * @param interval the interval between two invocations in milliseconds
+   * @param listener called with the result of each invocation
+   */
+  public synchronized void startRefresh(long interval, Handler<CheckResult> listener) {
+    if (refreshTimer != -1L) {
+      return;
+    }
+    long initialDelay = 1 + ThreadLocalRandom.current().nextLong(interval);
+    refreshTimer = vertx.setPeriodic(initialDelay, interval, id -> {
+      // Skip the tick if the previous invocation is still running
+      if (refreshing.compareAndSet(false, true)) {
+        check(res -> {
+          refreshing.set(false);
+          listener.handle(res);
+        });
+      }
+    });
+  }
+
+  @Override
+  public synchronized void close() {
+    if (refreshTimer != -1L) {
+      vertx.cancelTimer(refreshTimer);
+      refreshTimer = -1L;
+    }
+  }
+
+  @Override
+  public CheckResult snapshot() {
+    CheckResult res = latest;
+    return res != null ? res : pending(name);
+  }
+
+  /**
+   * Propagates a change of the outcome to the enclosing groups. Called with the lock of the procedure held, the locks
+   * of the groups are always acquired from the procedure up to the root.
+   */
+  private synchronized void updateDown(boolean value) {
+    if (down != value) {
+      down = value;
+      if (parent != null) {
+        parent.adjustDown(value ? 1 : -1);
+      }
+    }
+  }
+
+  @Override
+  public synchronized int down() {
+    return down ? 1 : 0;
+  }
+
+  @Override
+  public synchronized void parent(CompositeProcedure parent) {
+    if (down && this.parent != null) {
+      this.parent.adjustDown(-1);
+    }
+    this.parent = parent;
+    if (down && parent != null) {
+      parent.adjustDown(1);
+    }
+  }
+
+  @Override
+  public long cost() {
+    return latency;
+  }
+
+  @Override
+  public ProcedureStats stats() {
+    return histogram.fill(new ProcedureStats()
+      .setCacheHits(cacheHits.sum())
+      .setCacheMisses(cacheMisses.sum()));
+  }
+
+  /**
+   * Creates the result of a procedure that has not completed yet.
+   */
+  public static CheckResult pending(String name) {
+    return CheckResult.from(name, Status.KO(new JsonObject().put("pending", true))).freeze();
+  }
+
+  /**
+   * Creates the result of a completed procedure. The result does not share the status reported by the procedure.
+   */
   public static CheckResult from(String name, AsyncResult<?> ar) {
     if (ar.succeeded()) {
       // We may get a JSON Object, if completed using:
       // future.complete({ok: true});
       Status res = null;
       if (ar.result() instanceof Status) {
-        res = (Status) ar.result();
+        // Copied, the procedure may keep and modify its status
+        Status status = (Status) ar.result();
+        res = new Status(status).setData(status.hasData() ? status.getData().copy() : null);
       } else if (ar.result() instanceof JsonObject) {
         res = new Status((JsonObject) ar.result());
       }
@@ -67,4 +488,94 @@ public class DefaultProcedure implements Procedure {
       return CheckResult.from(name, ar.cause());
     }
   }
+
+  /**
+   * How a procedure is invoked and reports its results. By default, the procedure is invoked on the calling thread
+   * with a timer per invocation, and does not report its latency.
+   */
+  public static final class Dispatch {
+
+    private TimeoutWheel timeouts;
+    private Executor executor;
+    private Supplier<Executor> workerPool;
+    private LongSupplier cacheTtl;
+    private ContextInternal context;
+    private boolean reportLatency;
+
+    /**
+     * Sets the shared deadline scheduler of the invocations.
+     */
+    public Dispatch setTimeouts(TimeoutWheel timeouts) {
+      this.timeouts = timeouts;
+      return this;
+    }
+
+    /**
+     * Sets the executor running the procedure off the calling thread, e.g. for blocking procedures.
+     */
+    public Dispatch setExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the resolver of the worker pool of the enclosing groups, called on each invocation. The pool takes
+     * precedence over the executor.
+     */
+    public Dispatch setWorkerPool(Supplier<Executor> workerPool) {
+      this.workerPool = workerPool;
+      return this;
+    }
+
+    /**
+     * Sets the resolver of the cache TTL inherited from the enclosing groups, in nanoseconds, called on each
+     * invocation of a procedure not setting its own TTL.
+     */
+    public Dispatch setCacheTtl(LongSupplier cacheTtl) {
+      this.cacheTtl = cacheTtl;
+      return this;
+    }
+
+    /**
+     * Sets the context the procedure is invoked on.
+     */
+    public Dispatch setContext(ContextInternal context) {
+      this.context = context;
+      return this;
+    }
+
+    /**
+     * Sets whether the latency is reported in the data of the results.
+     */
+    public Dispatch setReportLatency(boolean reportLatency) {
+      this.reportLatency = reportLatency;
+      return this;
+    }
+  }
+
+  private static class SkippedResult {
+
+    final long openedAt;
+    final String state;
+    final int failures;
+    final CheckResult result;
+
+    SkippedResult(long openedAt, String state, int failures, CheckResult result) {
+      this.openedAt = openedAt;
+      this.state = state;
+      this.failures = failures;
+      this.result = result;
+    }
+  }
+
+  private static class CachedResult {
+
+    final CheckResult result;
+    final long cachedAt;
+
+    CachedResult(CheckResult result, long cachedAt) {
+      this.result = result;
+      this.cachedAt = cachedAt;
+    }
+  }
 }
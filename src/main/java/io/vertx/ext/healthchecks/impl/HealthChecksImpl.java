@@ -6,23 +6,97 @@ import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.healthchecks.HealthChecks;
 import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.GroupOptions;
+import io.vertx.ext.healthchecks.HealthChecksOptions;
+import io.vertx.ext.healthchecks.ProcedureOptions;
+import io.vertx.ext.healthchecks.ProcedureStats;
+import io.vertx.ext.healthchecks.QueryOptions;
 import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.StatusReporter;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
 public class HealthChecksImpl implements HealthChecks {
 
+  // Resolution of the procedure timeouts in milliseconds
+  private static final long TIMEOUT_RESOLUTION = 10L;
+  // Numbers the instances, scoping the names of their worker pools
+  private static final AtomicLong INSTANCES = new AtomicLong();
+
   private final Vertx vertx;
-  private CompositeProcedure root = new DefaultCompositeProcedure();
+  private final long instanceId = INSTANCES.incrementAndGet();
+  private final HealthChecksOptions options;
+  private final CompositeProcedure root;
+
+  // Deadlines of the procedure invocations, grouped on a single coarse timer
+  private final TimeoutWheel timeouts;
+
+  // Background evaluation: the last known results, rebuilt when a procedure refreshes
+  private final ContextInternal context;
+  private final AtomicReference<CheckResult> snapshot = new AtomicReference<>();
+  private final AtomicBoolean snapshotPending = new AtomicBoolean();
+
+  // Worker pools of the groups, keyed by name, guarded by this
+  private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+  // Incremented when the groups or their worker pools change, so the procedures resolve their group settings again
+  private volatile long groupsGeneration;
+
+  // Every registered procedure and group keyed by its full path, updated under the instance lock
+  private final ConcurrentMap<String, Procedure> index = new ConcurrentHashMap<>();
+
+  // Evaluations in progress, keyed by the path of the evaluated procedure ("" for the root)
+  private final ConcurrentMap<String, SingleFlight> flights = new ConcurrentHashMap<>();
+
+  // Last known statuses, diffed against the results to notify the subscriptions
+  private final StatusChanges changes = new StatusChanges();
 
   public HealthChecksImpl(Vertx vertx) {
+    this(vertx, new HealthChecksOptions());
+  }
+
+  public HealthChecksImpl(Vertx vertx, HealthChecksOptions options) {
     this.vertx = Objects.requireNonNull(vertx);
+    this.options = new HealthChecksOptions(Objects.requireNonNull(options));
+    this.timeouts = new TimeoutWheel(vertx, TIMEOUT_RESOLUTION);
+    this.root = newGroup();
+    if (this.options.isEventBusCodecs()) {
+      CheckResultCodec.register(vertx);
+    }
+    if (this.options.isBackgroundEvaluation()) {
+      if (this.options.getRefreshInterval() <= 0) {
+        throw new IllegalArgumentException("The refresh interval must be strictly positive");
+      }
+      context = (ContextInternal) vertx.getOrCreateContext();
+      snapshot.set(root.snapshot());
+    } else {
+      context = null;
+    }
   }
 
   @Override
@@ -32,31 +106,404 @@ public class HealthChecksImpl implements HealthChecks {
 
   @Override
   public HealthChecks register(String name, long timeout, Handler<Promise<Status>> procedure) {
+    return register(name, new ProcedureOptions().setTimeout(timeout), procedure);
+  }
+
+  @Override
+  public HealthChecks register(String name, ProcedureOptions options, Handler<Promise<Status>> procedure) {
+    return register(name, options, null, procedure);
+  }
+
+  @Override
+  public HealthChecks registerBlocking(String name, long timeout, Callable<Status> procedure) {
+    return registerBlocking(name, new ProcedureOptions().setTimeout(timeout), procedure);
+  }
+
+  @Override
+  public HealthChecks registerBlocking(String name, ProcedureOptions options, Callable<Status> procedure) {
+    return register(name, options, BlockingExecutors.blocking(vertx), DefaultProcedure.blocking(procedure));
+  }
+
+  private HealthChecks register(String name, ProcedureOptions options, Executor executor,
+                                Handler<Promise<Status>> procedure) {
     Objects.requireNonNull(name);
-    if (timeout <= 0) {
+    Objects.requireNonNull(options);
+    if (options.getTimeout() <= 0) {
       throw new IllegalArgumentException("The timeout must be strictly positive");
     }
+    if (options.getBreakerThreshold() < 0) {
+      throw new IllegalArgumentException("The circuit breaker threshold must not be negative");
+    }
+    if (options.getBreakerThreshold() > 0 && options.getBreakerBackoff() <= 0) {
+      throw new IllegalArgumentException("The circuit breaker backoff must be strictly positive");
+    }
+    if (options.getAdaptiveTimeoutMultiplier() < 0) {
+      throw new IllegalArgumentException("The adaptive timeout multiplier must not be negative");
+    }
+    if (options.getAdaptiveTimeoutMultiplier() > 0) {
+      if (options.getAdaptiveTimeoutPercentile() <= 0 || options.getAdaptiveTimeoutPercentile() > 100) {
+        throw new IllegalArgumentException("The adaptive timeout percentile must be in ]0, 100]");
+      }
+      if (options.getMinTimeout() <= 0 || options.getMinTimeout() > options.getTimeout()) {
+        throw new IllegalArgumentException("The minimum timeout must be strictly positive and lower than the timeout");
+      }
+    }
 
     if (name.isEmpty()) {
       throw new IllegalArgumentException("The name must not be empty");
     }
     Objects.requireNonNull(procedure);
     String[] segments = name.split("/");
-    CompositeProcedure parent = traverseAndCreate(segments);
+    String path = String.join("/", segments);
     String lastSegment = segments[segments.length - 1];
-    parent.add(lastSegment,
-      new DefaultProcedure(vertx, lastSegment, timeout, procedure));
+    DefaultProcedure check;
+    synchronized (this) {
+      CompositeProcedure parent = parentOf(path, segments);
+      ContextInternal pinned = this.options.isContextAffinity()
+        ? (ContextInternal) vertx.getOrCreateContext()
+        : null;
+      // The settings of the enclosing groups are resolved on dispatch, so a group configured later applies. The worker
+      // pool of the groups isolates them, it takes precedence over the executor
+      GroupSettings inherited = new GroupSettings(segments);
+      check = new DefaultProcedure(vertx, lastSegment, new ProcedureOptions(options), new DefaultProcedure.Dispatch()
+        .setTimeouts(timeouts)
+        .setExecutor(executor)
+        .setWorkerPool(inherited)
+        .setCacheTtl(inherited)
+        .setContext(pinned)
+        .setReportLatency(this.options.isLatencyInResults()), procedure);
+      install(parent, path, lastSegment, check);
+    }
+    if (context != null) {
+      long interval = options.getRefreshInterval() > 0
+        ? options.getRefreshInterval()
+        : this.options.getRefreshInterval();
+      check.startRefresh(interval, res -> publishSnapshot());
+      snapshot.set(root.snapshot());
+    }
     return this;
   }
 
+  @Override
+  public StatusReporter registerReporter(String name, long staleAfter) {
+    Objects.requireNonNull(name);
+    if (name.isEmpty()) {
+      throw new IllegalArgumentException("The name must not be empty");
+    }
+    if (staleAfter < 0) {
+      throw new IllegalArgumentException("The stale delay must not be negative");
+    }
+    String[] segments = name.split("/");
+    String path = String.join("/", segments);
+    String lastSegment = segments[segments.length - 1];
+    ReportedProcedure reporter = new ReportedProcedure(lastSegment, staleAfter, timeouts,
+      context != null ? res -> publishSnapshot() : null);
+    synchronized (this) {
+      install(parentOf(path, segments), path, lastSegment, reporter);
+    }
+    if (context != null) {
+      snapshot.set(root.snapshot());
+    }
+    return reporter;
+  }
+
+  /**
+   * Adds the procedure to its group, replacing the procedure registered with the same name.
+   */
+  private void install(CompositeProcedure parent, String path, String lastSegment, Procedure check) {
+    Procedure previous = parent.get(lastSegment);
+    parent.add(lastSegment, check);
+    if (previous != null) {
+      previous.close();
+      unindex(path);
+    }
+    index.put(path, check);
+  }
+
+  /**
+   * Rebuilds the snapshot from the last known results. Refreshes completing on the same tick are coalesced into
+   * a single rebuild.
+   */
+  private void publishSnapshot() {
+    if (snapshotPending.compareAndSet(false, true)) {
+      context.runOnContext(v -> {
+        snapshotPending.set(false);
+        CheckResult res = root.snapshot();
+        snapshot.set(res);
+        changes.update("", res);
+      });
+    }
+  }
+
+  @Override
+  public HealthChecks configureGroup(String name, GroupOptions options) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(options);
+    if (options.getMaxConcurrency() < 0) {
+      throw new IllegalArgumentException("The maximum concurrency must not be negative");
+    }
+    if (options.getShards() < 0) {
+      throw new IllegalArgumentException("The number of shards must not be negative");
+    }
+    if (options.getShardThreshold() < 0) {
+      throw new IllegalArgumentException("The shard threshold must not be negative");
+    }
+    if (options.getTimeout() < 0) {
+      throw new IllegalArgumentException("The group timeout must not be negative");
+    }
+    if (options.getWorkerPoolName() != null) {
+      if (options.getWorkerPoolSize() <= 0) {
+        throw new IllegalArgumentException("The worker pool size must be strictly positive");
+      }
+      if (options.getMaxWorkerQueueSize() < 0) {
+        throw new IllegalArgumentException("The maximum worker queue size must not be negative");
+      }
+    }
+    if (name.isEmpty() || name.equals("/")) {
+      synchronized (this) {
+        acquireWorkerPool("", options);
+        root.setOptions(options);
+        root.setShardContexts(shardContexts(root, options.getShards()));
+        releaseWorkerPools();
+      }
+      return this;
+    }
+    String[] segments = name.split("/");
+    String path = String.join("/", segments);
+    String lastSegment = segments[segments.length - 1];
+    synchronized (this) {
+      CompositeProcedure parent = parentOf(path, segments);
+      Procedure c = parent.get(lastSegment);
+      if (c != null && !(c instanceof CompositeProcedure)) {
+        throw new IllegalArgumentException("Unable to configure the group `" + name + "`, `"
+          + lastSegment + "` is not a composite.");
+      }
+      acquireWorkerPool(path, options);
+      if (c == null) {
+        DefaultCompositeProcedure composite = newGroup();
+        composite.setOptions(options);
+        composite.setShardContexts(shardContexts(null, options.getShards()));
+        parent.add(lastSegment, composite);
+        index.put(path, composite);
+      } else {
+        CompositeProcedure group = (CompositeProcedure) c;
+        group.setOptions(options);
+        group.setShardContexts(shardContexts(group, options.getShards()));
+      }
+      releaseWorkerPools();
+    }
+    return this;
+  }
+
+  /**
+   * Creates the worker pool configured by the group with the given path. A pool shared with other groups cannot be
+   * reconfigured with a different size.
+   */
+  private void acquireWorkerPool(String path, GroupOptions options) {
+    String poolName = options.getWorkerPoolName();
+    if (poolName == null) {
+      return;
+    }
+    Bulkhead bulkhead = bulkheads.get(poolName);
+    if (bulkhead != null && bulkhead.matches(options.getWorkerPoolSize(), options.getMaxWorkerQueueSize())) {
+      return;
+    }
+    if (bulkhead != null) {
+      if (workerPoolsInUse(path).contains(poolName)) {
+        throw new IllegalArgumentException("The worker pool `" + poolName
+          + "` is used by another group with a different size");
+      }
+      bulkhead.close();
+    }
+    bulkheads.put(poolName, new Bulkhead(vertx, poolName, poolName + "@" + instanceId, options.getWorkerPoolSize(),
+      options.getMaxWorkerQueueSize()));
+    groupsGeneration++;
+  }
+
+  /**
+   * Closes the worker pools no group uses anymore.
+   */
+  private void releaseWorkerPools() {
+    Set<String> inUse = workerPoolsInUse(null);
+    bulkheads.values().removeIf(bulkhead -> {
+      if (inUse.contains(bulkhead.name())) {
+        return false;
+      }
+      bulkhead.close();
+      return true;
+    });
+    groupsGeneration++;
+  }
+
+  /**
+   * @return the names of the worker pools configured by the groups, except the group with the given path
+   */
+  private Set<String> workerPoolsInUse(String excluded) {
+    Set<String> names = new HashSet<>();
+    if (!"".equals(excluded) && root.getOptions().getWorkerPoolName() != null) {
+      names.add(root.getOptions().getWorkerPoolName());
+    }
+    index.forEach((path, procedure) -> {
+      if (procedure instanceof CompositeProcedure && !path.equals(excluded)) {
+        String poolName = ((CompositeProcedure) procedure).getOptions().getWorkerPoolName();
+        if (poolName != null) {
+          names.add(poolName);
+        }
+      }
+    });
+    return names;
+  }
+  /**
+   * Creates the event loop contexts of the shards of a group, called once the group options are known to be valid.
+   * Event loop contexts are assigned the event loops in turn, so the shards run on distinct event loops up to the size
+   * of the event loop pool.
+   */
+  private ContextInternal[] shardContexts(CompositeProcedure group, int shards) {
+    if (shards <= 1) {
+      return null;
+    }
+    // Reconfiguring a group with the same number of shards keeps its event loops
+    ContextInternal[] current = group != null ? group.getShardContexts() : null;
+    if (current != null && current.length == shards) {
+      return current;
+    }
+    ContextInternal[] contexts = new ContextInternal[shards];
+    for (int i = 0; i < shards; i++) {
+      contexts[i] = ((VertxInternal) vertx).createEventLoopContext();
+    }
+    return contexts;
+  }
+
+  private DefaultCompositeProcedure newGroup() {
+    return new DefaultCompositeProcedure(options.isFailFast(), options.isLatencyInResults(), timeouts);
+  }
+
+  /**
+   * Gets the group enclosing the procedure with the given path, creating the missing groups.
+   */
+  private CompositeProcedure parentOf(String path, String[] segments) {
+    int idx = path.lastIndexOf('/');
+    if (idx < 0) {
+      return root;
+    }
+    Procedure parent = index.get(path.substring(0, idx));
+    if (parent instanceof CompositeProcedure) {
+      return (CompositeProcedure) parent;
+    }
+    return traverseAndCreate(segments);
+  }
+
+  /**
+   * Removes the procedure with the given path and its sub-procedures from the index.
+   */
+  private void unindex(String path) {
+    String prefix = path + "/";
+    index.remove(path);
+    index.keySet().removeIf(p -> p.startsWith(prefix));
+    flights.remove(path);
+    flights.keySet().removeIf(p -> p.startsWith(prefix));
+    changes.forget(path);
+  }
+
+  /**
+   * Gets the options of the groups enclosing the procedure with the given path segments, from the root to the
+   * closest group.
+   */
+  private List<GroupOptions> enclosingGroups(String[] segments) {
+    List<GroupOptions> groups = new ArrayList<>(segments.length);
+    groups.add(root.getOptions());
+    CompositeProcedure parent = root;
+    for (int i = 0; i < segments.length - 1 && parent != null; i++) {
+      Procedure c = parent.get(segments[i]);
+      parent = c instanceof CompositeProcedure ? (CompositeProcedure) c : null;
+      if (parent != null) {
+        groups.add(parent.getOptions());
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * Computes the cache TTL inherited from the enclosing groups, the closest group wins.
+   */
+  private static long inheritedCacheTtl(List<GroupOptions> groups) {
+    long ttl = 0L;
+    for (GroupOptions group : groups) {
+      if (group.getCacheTtl() >= 0) {
+        ttl = group.getCacheTtl();
+      }
+    }
+    return ttl;
+  }
+
+  /**
+   * Resolves the settings of the groups enclosing a procedure when it is dispatched, so a group configured after the
+   * registration applies: the worker pool and the cache TTL in nanoseconds. They are only looked up again when the
+   * groups change.
+   */
+  private final class GroupSettings implements Supplier<Executor>, LongSupplier {
+
+    private final String[] segments;
+    private volatile Executor pool;
+    private volatile long cacheTtl;
+    private volatile long generation = -1L;
+
+    GroupSettings(String[] segments) {
+      this.segments = segments;
+    }
+
+    @Override
+    public Executor get() {
+      resolve();
+      return pool;
+    }
+
+    @Override
+    public long getAsLong() {
+      resolve();
+      return cacheTtl;
+    }
+
+    private void resolve() {
+      if (generation != groupsGeneration) {
+        synchronized (HealthChecksImpl.this) {
+          List<GroupOptions> groups = enclosingGroups(segments);
+          // Written before the generation, so a reader seeing the generation sees the settings
+          pool = inheritedBulkhead(groups);
+          cacheTtl = TimeUnit.MILLISECONDS.toNanos(inheritedCacheTtl(groups));
+          generation = groupsGeneration;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the worker pool inherited from the enclosing groups, the closest group wins.
+   */
+  private Bulkhead inheritedBulkhead(List<GroupOptions> groups) {
+    Bulkhead bulkhead = null;
+    for (GroupOptions group : groups) {
+      if (group.getWorkerPoolName() != null) {
+        bulkhead = bulkheads.get(group.getWorkerPoolName());
+      }
+    }
+    return bulkhead;
+  }
+
   private CompositeProcedure traverseAndCreate(String[] segments) {
     int i;
     CompositeProcedure parent = root;
+    StringBuilder path = new StringBuilder();
     for (i = 0; i < segments.length - 1; i++) {
+      if (i > 0) {
+        path.append('/');
+      }
+      path.append(segments[i]);
       Procedure c = parent.get(segments[i]);
       if (c == null) {
-        DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+        DefaultCompositeProcedure composite = newGroup();
         parent.add(segments[i], composite);
+        index.put(path.toString(), composite);
         parent = composite;
       } else if (c instanceof CompositeProcedure) {
         parent = (CompositeProcedure) c;
@@ -77,15 +524,42 @@ public class HealthChecksImpl implements HealthChecks {
       throw new IllegalArgumentException("The name must not be empty");
     }
 
-    String[] segments = name.split("/");
-    CompositeProcedure parent = findLastParent(segments);
-    if (parent != null) {
-      String lastSegment = segments[segments.length - 1];
-      parent.remove(lastSegment);
+    String path = name;
+    while (path.endsWith("/")) {
+      path = path.substring(0, path.length() - 1);
+    }
+    synchronized (this) {
+      Procedure removed = index.get(path);
+      if (removed == null) {
+        return this;
+      }
+      int idx = path.lastIndexOf('/');
+      CompositeProcedure parent = idx < 0 ? root : (CompositeProcedure) index.get(path.substring(0, idx));
+      parent.remove(path.substring(idx + 1));
+      removed.close();
+      unindex(path);
+      if (removed instanceof CompositeProcedure) {
+        releaseWorkerPools();
+      }
+    }
+    if (context != null) {
+      snapshot.set(root.snapshot());
     }
     return this;
   }
 
+  @Override
+  public Future<Void> close() {
+    synchronized (this) {
+      root.close();
+      bulkheads.values().forEach(Bulkhead::close);
+      bulkheads.clear();
+      groupsGeneration++;
+    }
+    timeouts.close();
+    return Future.succeededFuture();
+  }
+
   @Override
   public HealthChecks invoke(Handler<JsonObject> resultHandler) {
     checkStatus().onComplete(ar -> {
@@ -103,31 +577,65 @@ public class HealthChecksImpl implements HealthChecks {
     return checkStatus(name).map(CheckResult::toJson);
   }
 
+  @Override
+  public Future<JsonObject> invoke(String name, QueryOptions options) {
+    return checkStatus(name, options).map(CheckResult::toJson);
+  }
+
+  @Override
+  public Future<CheckResult> checkStatus(String name, QueryOptions options) {
+    Objects.requireNonNull(options);
+    if (ResultView.isFull(options)) {
+      return checkStatus(name);
+    }
+    QueryOptions query = new QueryOptions(options);
+    return checkStatus(name).map(res -> ResultView.of(res, query));
+  }
+
   @Override
   public Future<CheckResult> checkStatus() {
     Promise<CheckResult> promise = ((ContextInternal)vertx.getOrCreateContext()).promise();
-    checkStatus(promise);
+    checkRoot(promise);
     return promise.future();
   }
 
   public void checkStatus(Promise<CheckResult> resultHandler) {
-    Promise<CheckResult> promise = ((ContextInternal)vertx.getOrCreateContext()).promise(resultHandler);
-    compute(root, promise);
+    checkRoot(((ContextInternal)vertx.getOrCreateContext()).promise(resultHandler));
+  }
+
+  /**
+   * Evaluates the root, the given promise is already bound to the calling context: it is the single hop back to the
+   * caller.
+   */
+  private void checkRoot(Promise<CheckResult> promise) {
+    if (context != null) {
+      promise.complete(snapshot.get());
+      return;
+    }
+    compute("", root, promise);
   }
 
   @Override
   public Future<CheckResult> checkStatus(String name) {
     ContextInternal ctx = (ContextInternal) vertx.getOrCreateContext();
     Promise<CheckResult> promise = ctx.promise();
+    Procedure indexed;
     if (name == null || name.isEmpty() || name.equals("/")) {
-      checkStatus(promise);
+      checkRoot(promise);
+    } else if ((indexed = index.get(name)) != null) {
+      compute(name, indexed, promise);
     } else {
       String[] segments = name.split("/");
       Procedure check = root;
+      StringBuilder path = new StringBuilder();
       for (String segment : segments) {
         if (segment.trim().isEmpty()) {
           continue;
         }
+        if (path.length() > 0) {
+          path.append('/');
+        }
+        path.append(segment);
         if (check instanceof CompositeProcedure) {
           check = ((CompositeProcedure) check).get(segment);
           if (check == null) {
@@ -146,26 +654,143 @@ public class HealthChecksImpl implements HealthChecks {
         promise.handle(null);
         return ctx.succeededFuture();
       }
-      compute(check, promise);
+      compute(path.toString(), check, promise);
     }
     return promise.future();
   }
 
-  private CompositeProcedure findLastParent(String[] segments) {
-    int i;
-    CompositeProcedure parent = root;
-    for (i = 0; i < segments.length - 1; i++) {
-      Procedure c = parent.get(segments[i]);
-      if (c instanceof CompositeProcedure) {
-        parent = (CompositeProcedure) c;
-      } else {
-        return null;
+  @Override
+  public boolean isUp(String name) {
+    Objects.requireNonNull(name);
+    Procedure procedure = index.get(name);
+    if (procedure == null) {
+      String path = normalize(name);
+      procedure = path.isEmpty() ? root : index.get(path);
+    }
+    if (procedure == null) {
+      throw new IllegalArgumentException("Unknown procedure `" + name + "`");
+    }
+    return procedure.down() == 0;
+  }
+
+  @Override
+  public ReadStream<CheckResult> subscribe(String name) {
+    String path = name == null ? "" : normalize(name);
+    return new StatusSubscription(changes, (ContextInternal) vertx.getOrCreateContext(), path);
+  }
+
+  /**
+   * Normalizes a name into the path of a procedure or group: leading, trailing and repeated slashes, as well as blank
+   * segments, are ignored. The root is {@code ""}.
+   */
+  private static String normalize(String name) {
+    StringBuilder path = new StringBuilder(name.length());
+    for (String segment : name.split("/")) {
+      if (segment.trim().isEmpty()) {
+        continue;
+      }
+      if (path.length() > 0) {
+        path.append('/');
       }
+      path.append(segment);
     }
-    return parent;
+    return path.toString();
+  }
+
+  @Override
+  public ProcedureStats stats(String name) {
+    Procedure procedure = name != null ? index.get(name) : null;
+    if (procedure != null) {
+      return stats(name, procedure);
+    }
+    procedure = root;
+    StringBuilder path = new StringBuilder();
+    if (name != null) {
+      for (String segment : name.split("/")) {
+        if (segment.trim().isEmpty()) {
+          continue;
+        }
+        if (!(procedure instanceof CompositeProcedure)) {
+          return null;
+        }
+        procedure = ((CompositeProcedure) procedure).get(segment);
+        if (procedure == null) {
+          return null;
+        }
+        if (path.length() > 0) {
+          path.append('/');
+        }
+        path.append(segment);
+      }
+    }
+    return stats(path.toString(), procedure);
+  }
+
+  private ProcedureStats stats(String path, Procedure procedure) {
+    ProcedureStats stats = procedure.stats();
+    SingleFlight flight = flights.get(path);
+    if (flight != null) {
+      stats
+        .setEvaluations(flight.evaluations.sum())
+        .setEvaluationCallers(flight.callers.sum());
+    }
+    return stats;
+  }
+
+  /**
+   * Evaluates the procedure, callers arriving while an evaluation of the same path is in progress share its result.
+   */
+  private void compute(String path, Procedure procedure, Promise<CheckResult> resultHandler) {
+    if (context != null) {
+      resultHandler.complete(procedure.snapshot());
+      return;
+    }
+    SingleFlight flight = flights.computeIfAbsent(path, p -> new SingleFlight());
+    while (true) {
+      Evaluation current = flight.current.get();
+      if (current != null && current.join()) {
+        current.promise.future().onComplete(resultHandler);
+        return;
+      }
+      Evaluation evaluation = new Evaluation();
+      if (flight.current.compareAndSet(current, evaluation)) {
+        evaluation.promise.future().onComplete(resultHandler);
+        procedure.check(res -> {
+          flight.current.compareAndSet(evaluation, null);
+          int served = evaluation.callers.getAndSet(-1);
+          flight.evaluations.increment();
+          flight.callers.add(served);
+          changes.update(path, res);
+          evaluation.promise.complete(res);
+        });
+        return;
+      }
+    }
+  }
+
+  private static class SingleFlight {
+
+    final AtomicReference<Evaluation> current = new AtomicReference<>();
+    final LongAdder evaluations = new LongAdder();
+    final LongAdder callers = new LongAdder();
   }
 
-  private void compute(Procedure procedure, Promise<CheckResult> resultHandler) {
-    procedure.check(resultHandler::complete);
+  private static class Evaluation {
+
+    final Promise<CheckResult> promise = Promise.promise();
+    // The number of callers sharing the evaluation, -1 once the evaluation has completed
+    final AtomicInteger callers = new AtomicInteger(1);
+
+    boolean join() {
+      while (true) {
+        int count = callers.get();
+        if (count < 0) {
+          return false;
+        }
+        if (callers.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,133 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.ext.healthchecks.ProcedureStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-memory, lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Buckets are log-linear, as in HdrHistogram: values lower than {@code 32} have their own bucket, then each power of
+ * two is split in {@code 16} buckets, so a recorded value is reported with a relative error lower than {@code 1/16}.
+ * Values are capped to {@code 2^36} nanoseconds (about 68 seconds). Recording a value is allocation-free.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR = 2 * SUB_BUCKETS;
+  private static final int MAX_EXPONENT = 36;
+  private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+  private static final int BUCKETS = LINEAR + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong max = new AtomicLong();
+
+  static int indexOf(long value) {
+    if (value < LINEAR) {
+      return (int) Math.max(0L, value);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return LINEAR + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * @return the highest value recorded in the bucket with the given index
+   */
+  static long highestValueOf(int index) {
+    if (index < LINEAR) {
+      return index;
+    }
+    int k = index - LINEAR;
+    int shift = k / SUB_BUCKETS + 1;
+    long sub = k % SUB_BUCKETS + SUB_BUCKETS;
+    return ((sub + 1) << shift) - 1;
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long value = Math.min(nanos, MAX_VALUE);
+    counts.incrementAndGet(indexOf(value));
+    long current;
+    while (value > (current = max.get())) {
+      if (max.compareAndSet(current, value)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * @return the number of recorded latencies
+   */
+  public long count() {
+    long count = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * @return the highest recorded latency in nanoseconds
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Computes the latency below which the given percentage of the recorded latencies fall. Latencies recorded
+   * concurrently may or may not be taken into account.
+   *
+   * @param percentile the percentile, between {@code 0} and {@code 100}
+   * @return the latency in nanoseconds, {@code 0} when no latency is recorded
+   */
+  public long valueAtPercentile(double percentile) {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0L) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(percentile / 100d * total));
+    long seen = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Sets the latency statistics of the given {@link ProcedureStats}.
+   *
+   * @param stats the stats to update
+   * @return the given stats
+   */
+  public ProcedureStats fill(ProcedureStats stats) {
+    return stats
+      .setLatencyCount(count())
+      .setLatencyP50(millis(valueAtPercentile(50)))
+      .setLatencyP90(millis(valueAtPercentile(90)))
+      .setLatencyP99(millis(valueAtPercentile(99)))
+      .setLatencyMax(millis(max()));
+  }
+
+  /**
+   * Converts nanoseconds to fractional milliseconds.
+   */
+  public static double millis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
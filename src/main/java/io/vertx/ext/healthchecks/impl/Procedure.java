@@ -2,6 +2,7 @@ package io.vertx.ext.healthchecks.impl;
 
 import io.vertx.core.Handler;
 import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.ProcedureStats;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -10,4 +11,37 @@ public interface Procedure {
 
   void check(Handler<CheckResult> resultHandler);
 
+  /**
+   * @return a snapshot of the statistics of this procedure
+   */
+  ProcedureStats stats();
+
+  /**
+   * Builds a result from the last known results of this procedure, without invoking it.
+   */
+  CheckResult snapshot();
+
+  /**
+   * @return the duration of the last evaluation of this procedure in nanoseconds, {@code 0} when unknown
+   */
+  long cost();
+
+  /**
+   * @return the number of procedures DOWN according to their last known result, procedures not evaluated yet are
+   * counted as DOWN
+   */
+  int down();
+
+  /**
+   * Sets the group notified when the number of procedures DOWN changes.
+   *
+   * @param parent the enclosing group, {@code null} when the procedure is removed from its group
+   */
+  void parent(CompositeProcedure parent);
+
+  /**
+   * Releases the resources held by this procedure, such as background refresh timers.
+   */
+  void close();
+
 }
@@ -13,4 +13,11 @@ public class ProcedureException extends Exception {
     super(cause.getMessage(), cause);
   }
 
+  /**
+   * Creates an exception without stack trace nor suppressed exceptions, it can be shared by the results.
+   */
+  ProcedureException(String msg, boolean writableStackTrace) {
+    super(msg, null, false, writableStackTrace);
+  }
+
 }
@@ -0,0 +1,161 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.ProcedureStats;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.StatusReporter;
+
+/**
+ * A procedure reporting the last status set by the application, evaluating it does not invoke anything.
+ * <p>
+ * When a stale delay is configured, each report schedules a deadline on the {@link TimeoutWheel}: a procedure not
+ * reported again before the deadline is reported as {@code DOWN} with a {@code stale} entry in its data. The deadline
+ * is rescheduled by each report, a new one is only created when the previous one is expiring concurrently.
+ */
+public class ReportedProcedure implements Procedure, StatusReporter {
+
+  private final String name;
+  // Stale delay in milliseconds, 0 when the reported status never becomes stale
+  private final long staleAfter;
+  private final TimeoutWheel timeouts;
+  // Notified of the reported results, may be null
+  private final Handler<CheckResult> listener;
+
+  private volatile CheckResult latest;
+  // Guarded by this
+  private Deadline deadline;
+  private boolean closed;
+  private boolean down = true;
+  private CompositeProcedure parent;
+
+  public ReportedProcedure(String name, long staleAfter, TimeoutWheel timeouts, Handler<CheckResult> listener) {
+    this.name = name;
+    this.staleAfter = staleAfter;
+    this.timeouts = timeouts;
+    this.listener = listener;
+    this.latest = DefaultProcedure.pending(name);
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public ReportedProcedure report(Status status) {
+    // Copied, the application may keep and modify its status, the result is returned to every caller
+    Status reported = status != null
+      ? new Status(status).setData(status.hasData() ? status.getData().copy() : null)
+      : Status.OK();
+    CheckResult result = CheckResult.from(name, reported).freeze();
+    synchronized (this) {
+      if (closed) {
+        return this;
+      }
+      latest = result;
+      updateDown(!result.getUp());
+      if (staleAfter > 0) {
+        // A deadline expiring concurrently is still referenced by the wheel, it is replaced
+        if (deadline == null || (deadline.scheduled && !timeouts.cancel(deadline.timeout))) {
+          deadline = new Deadline();
+        }
+        deadline.scheduled = true;
+        timeouts.schedule(deadline.timeout, staleAfter);
+      }
+    }
+    if (listener != null) {
+      listener.handle(result);
+    }
+    return this;
+  }
+
+  private void expire(Deadline expired) {
+    CheckResult result;
+    synchronized (this) {
+      // A report racing with the expiration wins
+      if (closed || expired != deadline || !expired.scheduled) {
+        return;
+      }
+      expired.scheduled = false;
+      result = CheckResult.from(name, Status.KO(new JsonObject()
+        .put("stale", true)
+        .put("stale-after", staleAfter))).freeze();
+      latest = result;
+      updateDown(true);
+    }
+    if (listener != null) {
+      listener.handle(result);
+    }
+  }
+
+  private void updateDown(boolean value) {
+    if (down != value) {
+      down = value;
+      if (parent != null) {
+        parent.adjustDown(value ? 1 : -1);
+      }
+    }
+  }
+
+  @Override
+  public void check(Handler<CheckResult> resultHandler) {
+    resultHandler.handle(latest);
+  }
+
+  @Override
+  public ProcedureStats stats() {
+    return new ProcedureStats();
+  }
+
+  @Override
+  public CheckResult snapshot() {
+    return latest;
+  }
+
+  @Override
+  public long cost() {
+    return 0L;
+  }
+
+  @Override
+  public synchronized int down() {
+    return down ? 1 : 0;
+  }
+
+  @Override
+  public synchronized void parent(CompositeProcedure parent) {
+    if (down && this.parent != null) {
+      this.parent.adjustDown(-1);
+    }
+    this.parent = parent;
+    if (down && parent != null) {
+      parent.adjustDown(1);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (deadline != null && deadline.scheduled) {
+      timeouts.cancel(deadline.timeout);
+      deadline.scheduled = false;
+    }
+  }
+
+  /**
+   * The stale deadline, reused by the next reports once cancelled or expired.
+   */
+  private final class Deadline implements Runnable {
+
+    private final TimeoutWheel.Timeout timeout = new TimeoutWheel.Timeout(this);
+    // Guarded by the procedure
+    private boolean scheduled;
+
+    @Override
+    public void run() {
+      expire(this);
+    }
+  }
+}
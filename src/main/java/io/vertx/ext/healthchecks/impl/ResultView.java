@@ -0,0 +1,76 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.QueryOptions;
+import io.vertx.ext.healthchecks.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the part of a result selected by {@link QueryOptions}.
+ * <p>
+ * The view is built top-down and only visits the returned results: a filtered out subtree is neither copied nor
+ * serialized. Results are shared by the callers of an evaluation, so the view never modifies them: returned results
+ * are new instances, referring to the statuses of the evaluated ones when their data are kept.
+ */
+public final class ResultView {
+
+  private ResultView() {
+  }
+
+  /**
+   * @return whether the options return the whole result
+   */
+  public static boolean isFull(QueryOptions options) {
+    return options.getMaxDepth() < 0 && !options.isOnlyDown() && !options.isOmitData() && !options.isSummaryOnly();
+  }
+
+  /**
+   * Builds the view of the given result.
+   *
+   * @param result  the evaluated result
+   * @param options the query options
+   * @return the view, the given result when the options return it whole
+   */
+  public static CheckResult of(CheckResult result, QueryOptions options) {
+    if (result == null || isFull(options)) {
+      return result;
+    }
+    int depth = options.isSummaryOnly() ? 0 : options.getMaxDepth();
+    return view(result, options, depth, options.isSummaryOnly() || options.isOmitData());
+  }
+
+  private static CheckResult view(CheckResult result, QueryOptions options, int depth, boolean omitData) {
+    boolean up = result.getUp();
+    List<CheckResult> checks = result.getChecks();
+    CheckResult view = new CheckResult().setId(result.getId());
+    if (checks != null) {
+      if (depth == 0 || (up && options.isOnlyDown())) {
+        // Truncated group, it keeps its outcome
+        return view.setStatus(new Status().setOk(up));
+      }
+      List<CheckResult> nested = new ArrayList<>(checks.size());
+      for (CheckResult check : checks) {
+        if (!options.isOnlyDown() || !check.getUp()) {
+          nested.add(view(check, options, depth - 1, omitData));
+        }
+      }
+      view.setChecks(nested);
+      if (!omitData) {
+        view.setLatency(result.getLatency());
+      }
+      return view;
+    }
+    if (!omitData) {
+      return view
+        .setStatus(result.getStatus())
+        .setFailure(result.getFailure())
+        .setLatency(result.getLatency());
+    }
+    Status status = result.getStatus();
+    return view.setStatus(new Status()
+      .setOk(up)
+      .setProcedureInError(status != null ? status.isProcedureInError() : result.getFailure() != null));
+  }
+}
@@ -0,0 +1,109 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.Status;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tracks the last known status of every procedure and group, and notifies the subscriptions of the changes.
+ * <p>
+ * Results are only compared while a subscription is active, so evaluations do not pay for the tracking otherwise.
+ * A procedure or group seen for the first time is reported as a change. Pending results, i.e. procedures not
+ * evaluated yet or skipped by a fail-fast group, do not change the known status.
+ */
+public class StatusChanges {
+
+  private final List<StatusSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  // The last known outcome of each path, guarded by this
+  private final Map<String, Boolean> known = new HashMap<>();
+
+  void add(StatusSubscription subscription) {
+    subscriptions.add(subscription);
+  }
+
+  void remove(StatusSubscription subscription) {
+    subscriptions.remove(subscription);
+  }
+
+  /**
+   * Compares the given result with the last known statuses and notifies the changes.
+   *
+   * @param path   the full path of the evaluated procedure, {@code ""} for the root
+   * @param result the result of the evaluation
+   */
+  public void update(String path, CheckResult result) {
+    if (subscriptions.isEmpty() || result == null) {
+      return;
+    }
+    synchronized (this) {
+      if (path.isEmpty()) {
+        visitChecks(path, result);
+      } else {
+        visit(path, result);
+      }
+    }
+  }
+
+  /**
+   * Forgets the statuses of the given path and its sub-paths, a procedure registered again with the same name is
+   * reported as new.
+   */
+  public synchronized void forget(String path) {
+    String prefix = path + "/";
+    known.remove(path);
+    known.keySet().removeIf(p -> p.startsWith(prefix));
+  }
+
+  private void visit(String path, CheckResult result) {
+    if (isPending(result)) {
+      return;
+    }
+    boolean up = result.getUp();
+    Boolean previous = known.put(path, up);
+    if (previous == null || previous != up) {
+      notify(path, change(path, result, up));
+    }
+    visitChecks(path, result);
+  }
+
+  private void visitChecks(String path, CheckResult result) {
+    List<CheckResult> checks = result.getChecks();
+    if (checks != null) {
+      for (CheckResult check : checks) {
+        visit(path.isEmpty() ? check.getId() : path + "/" + check.getId(), check);
+      }
+    }
+  }
+
+  private void notify(String path, CheckResult change) {
+    for (StatusSubscription subscription : subscriptions) {
+      if (subscription.matches(path)) {
+        subscription.offer(path, change);
+      }
+    }
+  }
+
+  private static boolean isPending(CheckResult result) {
+    Status status = result.getStatus();
+    return status != null && !status.isOk() && status.hasData() && status.getData().getBoolean("pending", false);
+  }
+
+  /**
+   * Builds the notified result: the full path as id and the status of the procedure, the nested checks of a group
+   * are notified separately.
+   */
+  private static CheckResult change(String path, CheckResult result, boolean up) {
+    CheckResult change = new CheckResult().setId(path);
+    if (result.getChecks() != null) {
+      return change.setStatus(up ? Status.OK() : Status.KO());
+    } else if (result.getStatus() != null) {
+      return change.setStatus(result.getStatus());
+    }
+    return change.setFailure(result.getFailure());
+  }
+}
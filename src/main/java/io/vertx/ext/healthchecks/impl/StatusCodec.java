@@ -0,0 +1,135 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.Status;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends {@link Status} instances on the event bus.
+ * <p>
+ * Local deliveries pass a read-only status by reference, other statuses are copied. On the wire, a status is
+ * a flags byte followed by its data as length-prefixed JSON, the data being omitted when empty.
+ */
+public class StatusCodec implements MessageCodec<Status, Status> {
+
+  public static final String NAME = "vertx-health-checks-status";
+
+  private static final int OK = 1;
+  private static final int PROCEDURE_IN_ERROR = 1 << 1;
+  private static final int DATA = 1 << 2;
+
+  @Override
+  public void encodeToWire(Buffer buffer, Status status) {
+    write(buffer, status);
+  }
+
+  @Override
+  public Status decodeFromWire(int pos, Buffer buffer) {
+    return read(new Cursor(buffer, pos));
+  }
+
+  @Override
+  public Status transform(Status status) {
+    return copy(status);
+  }
+
+  /**
+   * Copies a status for a local delivery, a read-only status is shared.
+   */
+  static Status copy(Status status) {
+    if (status.isFrozen()) {
+      return status;
+    }
+    return new Status(status).setData(status.hasData() ? status.getData().copy() : null);
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+
+  static void write(Buffer buffer, Status status) {
+    boolean hasData = status.hasData();
+    int flags = (status.isOk() ? OK : 0)
+      | (status.isProcedureInError() ? PROCEDURE_IN_ERROR : 0)
+      | (hasData ? DATA : 0);
+    buffer.appendByte((byte) flags);
+    if (hasData) {
+      Buffer json = status.getData().toBuffer();
+      buffer.appendInt(json.length()).appendBuffer(json);
+    }
+  }
+
+  static Status read(Cursor cursor) {
+    int flags = cursor.readByte();
+    Status status = new Status()
+      .setOk((flags & OK) != 0)
+      .setProcedureInError((flags & PROCEDURE_IN_ERROR) != 0);
+    if ((flags & DATA) != 0) {
+      int length = cursor.readInt();
+      status.setData(new JsonObject(cursor.buffer.getBuffer(cursor.pos, cursor.pos + length)));
+      cursor.pos += length;
+    }
+    return status;
+  }
+
+  /**
+   * Writes a length-prefixed UTF-8 string, {@code null} being written as a negative length.
+   */
+  static void writeString(Buffer buffer, String s) {
+    if (s == null) {
+      buffer.appendInt(-1);
+      return;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    buffer.appendInt(bytes.length).appendBytes(bytes);
+  }
+
+  /**
+   * A read position in a buffer.
+   */
+  static final class Cursor {
+
+    final Buffer buffer;
+    int pos;
+
+    Cursor(Buffer buffer, int pos) {
+      this.buffer = buffer;
+      this.pos = pos;
+    }
+
+    int readByte() {
+      return buffer.getByte(pos++);
+    }
+
+    int readInt() {
+      int value = buffer.getInt(pos);
+      pos += 4;
+      return value;
+    }
+
+    long readLong() {
+      long value = buffer.getLong(pos);
+      pos += 8;
+      return value;
+    }
+
+    String readString() {
+      int length = readInt();
+      if (length < 0) {
+        return null;
+      }
+      String s = buffer.getString(pos, pos + length, StandardCharsets.UTF_8.name());
+      pos += length;
+      return s;
+    }
+  }
+}
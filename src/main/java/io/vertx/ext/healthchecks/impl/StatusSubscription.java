@@ -0,0 +1,161 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.healthchecks.CheckResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A stream of the status changes of the procedures under a path.
+ * <p>
+ * Changes are delivered on the context of the subscriber. While the stream is paused, the changes are buffered by
+ * path: a procedure changing several times is delivered once with its latest status, so the buffer is bounded by
+ * the number of procedures. Setting a {@code null} handler ends the subscription.
+ */
+public class StatusSubscription implements ReadStream<CheckResult> {
+
+  private final StatusChanges changes;
+  private final ContextInternal context;
+  private final String path;
+  private final String prefix;
+
+  // Guarded by this
+  private final Map<String, CheckResult> pending = new LinkedHashMap<>();
+  private long demand = Long.MAX_VALUE;
+  private boolean draining;
+  private boolean registered;
+  private boolean ended;
+  private Handler<CheckResult> handler;
+  private Handler<Void> endHandler;
+
+  public StatusSubscription(StatusChanges changes, ContextInternal context, String path) {
+    this.changes = changes;
+    this.context = context;
+    this.path = path;
+    this.prefix = path + "/";
+  }
+
+  boolean matches(String changed) {
+    return path.isEmpty() || changed.equals(path) || changed.startsWith(prefix);
+  }
+
+  void offer(String changed, CheckResult change) {
+    synchronized (this) {
+      if (ended) {
+        return;
+      }
+      pending.put(changed, change);
+      if (draining || demand == 0L) {
+        return;
+      }
+      draining = true;
+    }
+    context.runOnContext(v -> drain());
+  }
+
+  private void drain() {
+    while (true) {
+      Handler<CheckResult> h;
+      CheckResult next;
+      synchronized (this) {
+        if (ended || demand == 0L || pending.isEmpty()) {
+          draining = false;
+          return;
+        }
+        Iterator<CheckResult> it = pending.values().iterator();
+        next = it.next();
+        it.remove();
+        if (demand != Long.MAX_VALUE) {
+          demand--;
+        }
+        h = handler;
+      }
+      if (h != null) {
+        try {
+          h.handle(next);
+        } catch (Throwable t) {
+          context.reportException(t);
+        }
+      }
+    }
+  }
+
+  @Override
+  public StatusSubscription exceptionHandler(Handler<Throwable> handler) {
+    // The stream does not fail
+    return this;
+  }
+
+  @Override
+  public StatusSubscription handler(Handler<CheckResult> handler) {
+    Handler<Void> end;
+    synchronized (this) {
+      if (ended) {
+        return this;
+      }
+      this.handler = handler;
+      if (handler != null) {
+        // Replacing the handler keeps the registration, the subscriptions do not lock the changes
+        if (!registered) {
+          registered = true;
+          changes.add(this);
+        }
+        return this;
+      }
+      ended = true;
+      pending.clear();
+      end = endHandler;
+      if (registered) {
+        changes.remove(this);
+      }
+    }
+    if (end != null) {
+      context.runOnContext(end);
+    }
+    return this;
+  }
+
+  @Override
+  public StatusSubscription pause() {
+    synchronized (this) {
+      demand = 0L;
+    }
+    return this;
+  }
+
+  @Override
+  public StatusSubscription resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public StatusSubscription fetch(long amount) {
+    if (amount < 0L) {
+      throw new IllegalArgumentException("The amount must not be negative");
+    }
+    synchronized (this) {
+      demand += amount;
+      if (demand < 0L) {
+        demand = Long.MAX_VALUE;
+      }
+      if (draining || demand == 0L || pending.isEmpty()) {
+        return this;
+      }
+      draining = true;
+    }
+    context.runOnContext(v -> drain());
+    return this;
+  }
+
+  @Override
+  public StatusSubscription endHandler(Handler<Void> endHandler) {
+    synchronized (this) {
+      this.endHandler = endHandler;
+    }
+    return this;
+  }
+}
@@ -0,0 +1,264 @@
+package io.vertx.ext.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the timeouts of procedure invocations on a single Vert.x timer.
+ * <p>
+ * Timeouts are rounded up to the wheel resolution and grouped in buckets, the timer is armed for the earliest bucket
+ * only. Invocations started together share a bucket, and timeouts cancelled when their invocation completes are
+ * unlinked immediately, so the number of live timers does not depend on the number of procedures.
+ * <p>
+ * Each bucket has its own lock: scheduling in the last used bucket and cancelling only lock that bucket. The wheel
+ * lock is only taken to create a bucket and to expire the due buckets, and the timer is armed outside of it. Emptied
+ * buckets stay in the wheel until their tick, so a bucket is never re-created while invocations keep completing
+ * before their timeout.
+ * <p>
+ * A single timer is armed at a time: arming a timer for an earlier bucket cancels the timer it supersedes, and closing
+ * the wheel cancels the armed timer.
+ */
+public class TimeoutWheel {
+
+  private final Vertx vertx;
+  private final long resolution;
+
+  // Buckets of pending timeouts, keyed by tick, guarded by this
+  private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+  // The last created bucket, timeouts scheduled together mostly land in the same bucket
+  private volatile Bucket last;
+  // The earliest tick a timer is armed for, guarded by this
+  private long timerTick = Long.MAX_VALUE;
+  // The id of the timer armed for timerTick, -1 when not known yet, guarded by this
+  private long timerId = -1L;
+  // Guarded by this
+  private boolean closed;
+
+  /**
+   * @param vertx      the Vert.x instance providing the timer
+   * @param resolution the resolution of the wheel in milliseconds
+   */
+  public TimeoutWheel(Vertx vertx, long resolution) {
+    if (resolution <= 0) {
+      throw new IllegalArgumentException("The resolution must be strictly positive");
+    }
+    this.vertx = vertx;
+    this.resolution = resolution;
+  }
+
+  private static long now() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  /**
+   * Schedules the given timeout.
+   *
+   * @param timeout the timeout, must not be already scheduled
+   * @param delay   the delay in milliseconds
+   */
+  public void schedule(Timeout timeout, long delay) {
+    long tick = (now() + delay + resolution - 1) / resolution;
+    Bucket bucket = last;
+    if (bucket != null && bucket.tick == tick && bucket.link(timeout)) {
+      return;
+    }
+    boolean arm = false;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      bucket = buckets.get(tick);
+      if (bucket == null) {
+        bucket = new Bucket(tick);
+        buckets.put(bucket.key, bucket);
+      }
+      last = bucket;
+      // The bucket cannot expire while the wheel lock is held
+      bucket.link(timeout);
+      if (tick < timerTick) {
+        timerTick = tick;
+        arm = true;
+      }
+    }
+    if (arm) {
+      arm(tick);
+    }
+  }
+
+  /**
+   * Cancels the given timeout, its task will not be executed.
+   *
+   * @param timeout the timeout
+   * @return {@code true} if the timeout was pending
+   */
+  public boolean cancel(Timeout timeout) {
+    Bucket bucket = timeout.bucket;
+    return bucket != null && bucket.unlink(timeout);
+  }
+
+  /**
+   * Arms the timer for the given tick, outside the wheel lock. Once armed, the timer supersedes the timer armed for a
+   * later tick, unless it has been superseded itself in the meantime.
+   */
+  private void arm(long tick) {
+    long id = vertx.setTimer(Math.max(1L, tick * resolution - now()), l -> expire(tick));
+    long superseded;
+    synchronized (this) {
+      if (closed || tick != timerTick) {
+        // Superseded by an earlier timer, or already fired
+        superseded = id;
+      } else {
+        superseded = timerId;
+        timerId = id;
+      }
+    }
+    if (superseded != -1L) {
+      vertx.cancelTimer(superseded);
+    }
+  }
+
+  /**
+   * Stops the wheel: the armed timer is cancelled, and the pending and later scheduled timeouts never expire.
+   */
+  public void close() {
+    long id;
+    synchronized (this) {
+      closed = true;
+      id = timerId;
+      timerId = -1L;
+      timerTick = Long.MAX_VALUE;
+      buckets.clear();
+      last = null;
+    }
+    if (id != -1L) {
+      vertx.cancelTimer(id);
+    }
+  }
+
+  /**
+   * Expires the due buckets. A timer superseded by an earlier one while being armed only finds fewer due buckets when
+   * it fires.
+   */
+  private void expire(long firedTick) {
+    Timeout expired = null;
+    long next = -1L;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (firedTick == timerTick) {
+        timerTick = Long.MAX_VALUE;
+        timerId = -1L;
+      }
+      long tick = now() / resolution;
+      Map.Entry<Long, Bucket> first;
+      while ((first = buckets.firstEntry()) != null && first.getKey() <= tick) {
+        buckets.pollFirstEntry();
+        expired = first.getValue().expire(expired);
+      }
+      if (first != null && first.getKey() < timerTick) {
+        timerTick = first.getKey();
+        next = timerTick;
+      }
+    }
+    if (next != -1L) {
+      arm(next);
+    }
+    // Run the tasks outside the locks
+    while (expired != null) {
+      Timeout following = expired.expired;
+      expired.expired = null;
+      expired.task.run();
+      expired = following;
+    }
+  }
+
+  private static final class Bucket {
+
+    final long tick;
+    final Long key;
+    // Guarded by this bucket
+    private Timeout head;
+    private boolean live = true;
+
+    Bucket(long tick) {
+      this.tick = tick;
+      this.key = tick;
+    }
+
+    synchronized boolean link(Timeout timeout) {
+      if (!live) {
+        return false;
+      }
+      if (timeout.bucket != null) {
+        throw new IllegalStateException("Timeout already scheduled");
+      }
+      timeout.prev = null;
+      timeout.next = head;
+      if (head != null) {
+        head.prev = timeout;
+      }
+      head = timeout;
+      timeout.bucket = this;
+      return true;
+    }
+
+    synchronized boolean unlink(Timeout timeout) {
+      if (timeout.bucket != this) {
+        return false;
+      }
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      }
+      timeout.bucket = null;
+      timeout.prev = null;
+      timeout.next = null;
+      return true;
+    }
+
+    /**
+     * Detaches the pending timeouts and chains them to the given expired timeouts.
+     */
+    synchronized Timeout expire(Timeout expired) {
+      live = false;
+      Timeout timeout = head;
+      head = null;
+      while (timeout != null) {
+        Timeout next = timeout.next;
+        timeout.bucket = null;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.expired = expired;
+        expired = timeout;
+        timeout = next;
+      }
+      return expired;
+    }
+  }
+
+  /**
+   * A timeout, executing its task when it expires.
+   */
+  public static class Timeout {
+
+    private final Runnable task;
+    private volatile Bucket bucket;
+    // Guarded by the lock of the bucket
+    private Timeout prev;
+    private Timeout next;
+    // Chains the expired timeouts while their tasks are executed
+    private Timeout expired;
+
+    public Timeout(Runnable task) {
+      this.task = task;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package io.vertx.ext.healthchecks.tests;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.impl.ProcedureException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckResultTest {
+
+  private static void assertSameEncoding(CheckResult result) {
+    Buffer buffer = result.writeTo(Buffer.buffer());
+    assertThat(buffer.toString()).isEqualTo(result.toJson().encode());
+    assertThat(buffer.getBytes()).isEqualTo(result.toJson().toBuffer().getBytes());
+  }
+
+  @Test
+  public void testWriteLeaf() {
+    assertSameEncoding(CheckResult.from("foo", Status.OK()));
+    assertSameEncoding(CheckResult.from("foo", Status.KO()));
+    assertSameEncoding(CheckResult.from("foo", (Status) null));
+    assertSameEncoding(new CheckResult());
+    assertSameEncoding(CheckResult.from("foo", Status.KO().setProcedureInError(true)));
+    assertSameEncoding(CheckResult.from("foo", Status.OK(new JsonObject()
+      .put("string", "value")
+      .put("number", 12.5)
+      .put("long", Long.MAX_VALUE)
+      .put("bool", false)
+      .putNull("null")
+      .put("array", new JsonArray().add(1).add("two").add(new JsonObject().put("three", 3)))
+      .put("nested", new JsonObject().put("key", "v\"a\\l\nue")))));
+  }
+
+  @Test
+  public void testWriteFailure() {
+    assertSameEncoding(CheckResult.from("foo", new Exception("BOOM")));
+    assertSameEncoding(CheckResult.from("foo", new Exception()));
+    assertSameEncoding(CheckResult.from("foo", new ProcedureException("Timeout")));
+  }
+
+  @Test
+  public void testWriteEscapedStrings() {
+    assertSameEncoding(CheckResult.from("quote\"back\\slash/", Status.OK()));
+    assertSameEncoding(CheckResult.from("\b\t\n\f\r\u0000\u0001\u001f\u007f", Status.OK()));
+    assertSameEncoding(CheckResult.from("héllo wörld € 😀", Status.OK()));
+    assertSameEncoding(CheckResult.from("foo", new Exception("multi\nline \"cause\"")));
+  }
+
+  @Test
+  public void testWriteTree() {
+    CheckResult leaf1 = CheckResult.from("A", Status.OK(new JsonObject().put("availableMemory", "2Mb")));
+    CheckResult leaf2 = CheckResult.from("B", new ProcedureException("Timeout"));
+    CheckResult group = new CheckResult().setId("sub").setChecks(new ArrayList<>(Arrays.asList(leaf1, leaf2)));
+    CheckResult empty = new CheckResult().setId("empty").setChecks(Collections.emptyList());
+    CheckResult root = new CheckResult().setChecks(Arrays.asList(group, empty, CheckResult.from("C", Status.KO())));
+    assertSameEncoding(root);
+    assertSameEncoding(group);
+  }
+
+  @Test
+  public void testWriteLatency() {
+    assertSameEncoding(CheckResult.from("foo", Status.OK()).setLatency(1_234_567));
+    assertSameEncoding(CheckResult.from("foo", Status.KO(new JsonObject().put("load", 99))).setLatency(0));
+    assertSameEncoding(CheckResult.from("foo", new ProcedureException("Timeout")).setLatency(1_000_000_000));
+    assertSameEncoding(CheckResult.from("foo", new Exception("BOOM")).setLatency(12));
+    assertSameEncoding(new CheckResult()
+      .setChecks(Collections.singletonList(CheckResult.from("foo", Status.OK()).setLatency(5)))
+      .setLatency(123_456_789_012L));
+  }
+
+  @Test
+  public void testOutcomeIsAggregatedOnce() {
+    AtomicInteger evaluations = new AtomicInteger();
+    Status status = new Status() {
+      @Override
+      public boolean isOk() {
+        evaluations.incrementAndGet();
+        return true;
+      }
+    };
+
+    // 100 nested levels of 100 leaves each, 10k leaves
+    CheckResult root = null;
+    for (int level = 0; level < 100; level++) {
+      List<CheckResult> checks = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        checks.add(CheckResult.from("leaf-" + i, status));
+      }
+      if (root != null) {
+        checks.add(root.setId("level-" + level));
+      }
+      root = new CheckResult().setChecks(checks);
+    }
+
+    assertThat(root.toJson().getString("outcome")).isEqualTo("UP");
+    assertThat(root.writeTo(Buffer.buffer()).length()).isGreaterThan(0);
+    assertThat(CheckResult.isUp(root)).isTrue();
+    assertThat(evaluations.get()).isEqualTo(10_000);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testChecksAreUnmodifiable() {
+    List<CheckResult> checks = new ArrayList<>();
+    checks.add(CheckResult.from("foo", Status.OK()));
+    CheckResult group = new CheckResult().setChecks(checks);
+    assertThat(group.getUp()).isTrue();
+    group.getChecks().add(CheckResult.from("bar", Status.KO()));
+  }
+}
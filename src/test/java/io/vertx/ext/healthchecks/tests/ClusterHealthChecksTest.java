@@ -0,0 +1,155 @@
+package io.vertx.ext.healthchecks.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.ClusterHealthChecks;
+import io.vertx.ext.healthchecks.ClusterHealthChecksOptions;
+import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.test.fakecluster.FakeClusterManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.vertx.ext.healthchecks.tests.Assertions.assertThatCheck;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several nodes sharing the event bus of a single Vert.x instance, or of clustered Vert.x instances.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ClusterHealthChecksTest {
+
+  private Vertx vertx;
+  private final List<Vertx> clustered = new CopyOnWriteArrayList<>();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    List<Future<Void>> closed = new ArrayList<>();
+    closed.add(vertx.close());
+    for (Vertx instance : clustered) {
+      closed.add(instance.close());
+    }
+    Future.all(closed).onComplete(tc.asyncAssertSuccess(v -> FakeClusterManager.reset()));
+  }
+
+  private Future<Vertx> clusteredVertx() {
+    return Vertx.builder()
+      .withClusterManager(new FakeClusterManager())
+      .buildClustered()
+      .onSuccess(clustered::add);
+  }
+
+  private ClusterHealthChecks node(String id, HealthChecks healthChecks) {
+    return ClusterHealthChecks.create(vertx, healthChecks, new ClusterHealthChecksOptions()
+      .setNodeId(id)
+      .setNodeTimeout(200)
+      .setCacheTtl(10000));
+  }
+
+  @Test
+  public void testAggregation(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    ClusterHealthChecks a = node("node-a", HealthChecks.create(vertx)
+      .register("foo", promise -> {
+        invocations.incrementAndGet();
+        promise.complete(Status.OK());
+      }));
+    node("node-b", HealthChecks.create(vertx)
+      .register("foo", promise -> promise.complete(Status.OK()))
+      .register("bar", promise -> promise.complete(Status.KO())));
+    // Does not answer before the node timeout
+    node("node-c", HealthChecks.create(vertx)
+      .register("foo", 5000, promise -> { }));
+
+    Async async = tc.async();
+    vertx.setTimer(100, l -> a.checkStatus()
+      .compose(res -> a.checkStatus())
+      .map(CheckResult::toJson)
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).isDown()
+            .hasChildren(3)
+            .hasAndGetCheck("node-a").isUp().hasAndGetCheck("foo").isUp().done().done()
+            .hasAndGetCheck("node-b").isDown()
+            .hasAndGetCheck("foo").isUp().done()
+            .hasAndGetCheck("bar").isDown().done().done()
+            .hasAndGetCheck("node-c").isDown().hasData("cause", "Timeout").done();
+          // The second query used the cached result
+          assertThat(invocations.get()).isEqualTo(1);
+        });
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void testNodeLeaving(TestContext tc) {
+    ClusterHealthChecks a = node("node-a", HealthChecks.create(vertx));
+    ClusterHealthChecks b = node("node-b", HealthChecks.create(vertx));
+
+    Async async = tc.async();
+    vertx.setTimer(100, l -> b.close().onComplete(tc.asyncAssertSuccess(v -> vertx.setTimer(100, l2 ->
+      a.checkStatus().map(CheckResult::toJson).onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v2 -> assertThatCheck(json).isUp()
+          .hasChildren(1)
+          .hasAndGetCheck("node-a").isUp().done());
+        async.complete();
+      }))))));
+  }
+
+  @Test
+  public void testClusteredNodes(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    Async async = tc.async();
+    Future.all(clusteredVertx(), clusteredVertx()).onComplete(tc.asyncAssertSuccess(cf -> {
+      Vertx first = cf.resultAt(0);
+      Vertx second = cf.resultAt(1);
+      ClusterHealthChecksOptions options = new ClusterHealthChecksOptions()
+        .setNodeTimeout(1000)
+        .setCacheTtl(10000);
+      ClusterHealthChecks a = ClusterHealthChecks.create(first, HealthChecks.create(first)
+        .register("foo", promise -> promise.complete(Status.OK())),
+        new ClusterHealthChecksOptions(options).setNodeId("node-a"));
+      ClusterHealthChecks b = ClusterHealthChecks.create(second, HealthChecks.create(second)
+        .register("bar", promise -> {
+          invocations.incrementAndGet();
+          promise.complete(Status.KO(new JsonObject().put("cause", "BOOM")));
+        }), new ClusterHealthChecksOptions(options).setNodeId("node-b"));
+
+      // Let the nodes discover each other
+      first.setTimer(500, l -> a.checkStatus()
+        .compose(res -> b.checkStatus().map(local -> res))
+        .map(CheckResult::toJson)
+        .onComplete(tc.asyncAssertSuccess(json -> {
+          tc.verify(v -> {
+            // The result of node-b crossed the clustered event bus
+            assertThatCheck(json).isDown()
+              .hasChildren(2)
+              .hasAndGetCheck("node-a").isUp().hasAndGetCheck("foo").isUp().done().done()
+              .hasAndGetCheck("node-b").isDown()
+              .hasAndGetCheck("bar").isDown().hasData("cause", "BOOM").done().done();
+            // node-b answered node-a and its own query with a single evaluation
+            assertThat(invocations.get()).isEqualTo(1);
+          });
+          async.complete();
+        })));
+    }));
+  }
+}
@@ -2,8 +2,11 @@ package io.vertx.ext.healthchecks.tests;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
 import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.HealthChecksOptions;
 import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.impl.StatusCodec;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.Repeat;
@@ -94,4 +97,39 @@ public class EventBusTest {
       async.complete();
     });
   }
+
+  @Test
+  public void testResultCodecs(TestContext tc) {
+    Async async = tc.async();
+
+    HealthChecks withCodecs = HealthChecks.create(vertx, new HealthChecksOptions().setEventBusCodecs(true));
+    withCodecs.register("my-procedure", future -> future.complete(Status.OK()));
+    vertx.eventBus().consumer("results", message -> withCodecs.checkStatus().onSuccess(message::reply));
+
+    vertx.eventBus().<CheckResult>request("results", "").onComplete(tc.asyncAssertSuccess(reply -> {
+      CheckResult result = reply.body();
+      tc.assertTrue(result.getUp());
+      // Read-only results are delivered by reference
+      tc.assertTrue(result.isFrozen());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testResultCodecsConflict(TestContext tc) {
+    vertx.eventBus().registerDefaultCodec(Status.class, new StatusCodec() {
+      @Override
+      public String name() {
+        return "application-status";
+      }
+    });
+    try {
+      HealthChecks.create(vertx, new HealthChecksOptions().setEventBusCodecs(true));
+      tc.fail("The codec of the application must not be replaced");
+    } catch (IllegalStateException expected) {
+      // Expected
+    }
+    vertx.eventBus().unregisterDefaultCodec(Status.class);
+    HealthChecks.create(vertx, new HealthChecksOptions().setEventBusCodecs(true));
+  }
 }
@@ -1,12 +1,22 @@
 package io.vertx.ext.healthchecks.tests;
 
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.GroupOptions;
 import io.vertx.ext.healthchecks.HealthChecks;
+import io.vertx.ext.healthchecks.HealthChecksOptions;
+import io.vertx.ext.healthchecks.ProcedureOptions;
+import io.vertx.ext.healthchecks.ProcedureStats;
+import io.vertx.ext.healthchecks.QueryOptions;
 import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.StatusReporter;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -15,6 +25,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static io.vertx.ext.healthchecks.tests.Assertions.assertThatCheck;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.data.MapEntry.entry;
@@ -545,4 +565,735 @@ public class HealthChecksTest {
         .hasOutcomeDown();
     }));
   }
+
+  @Test
+  public void testCachedProcedure(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    healthChecks.register("foo", new ProcedureOptions().setCacheTtl(10000), promise -> {
+      invocations.incrementAndGet();
+      promise.complete(Status.KO());
+    });
+
+    healthChecks.checkStatus()
+      .compose(res -> healthChecks.checkStatus())
+      .map(CheckResult::toJson)
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).hasOutcomeDown()
+            .hasAndGetCheck("foo").isDown().done();
+          assertThat(invocations.get()).isEqualTo(1);
+          ProcedureStats stats = healthChecks.stats("foo");
+          assertThat(stats.getCacheHits()).isEqualTo(1);
+          assertThat(stats.getCacheMisses()).isEqualTo(1);
+        });
+      }));
+  }
+
+  @Test
+  public void testCacheExpires(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    healthChecks.register("foo", new ProcedureOptions().setCacheTtl(10), promise -> {
+      invocations.incrementAndGet();
+      promise.complete(Status.OK());
+    });
+
+    Async async = tc.async();
+    healthChecks.checkStatus().onComplete(tc.asyncAssertSuccess(res ->
+      vertx.setTimer(50, id -> healthChecks.checkStatus().onComplete(tc.asyncAssertSuccess(res2 -> {
+        tc.verify(v -> {
+          assertThat(invocations.get()).isEqualTo(2);
+          assertThat(healthChecks.stats("foo").getCacheHits()).isEqualTo(0);
+        });
+        async.complete();
+      })))));
+  }
+
+  @Test
+  public void testGroupCacheTtlIsInherited(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    healthChecks
+      .configureGroup("sub", new GroupOptions().setCacheTtl(10000))
+      .register("sub/A", promise -> {
+        invocations.incrementAndGet();
+        promise.complete(Status.OK());
+      })
+      .register("sub/B", new ProcedureOptions().setCacheTtl(0), promise -> {
+        invocations.incrementAndGet();
+        promise.complete(Status.OK());
+      })
+      .register("other", promise -> {
+        invocations.incrementAndGet();
+        promise.complete(Status.OK());
+      });
+
+    healthChecks.checkStatus()
+      .compose(res -> healthChecks.checkStatus())
+      .onComplete(tc.asyncAssertSuccess(res -> {
+        tc.verify(v -> {
+          assertThat(invocations.get()).isEqualTo(5);
+          ProcedureStats stats = healthChecks.stats("sub");
+          assertThat(stats.getCacheHits()).isEqualTo(1);
+          assertThat(stats.getCacheMisses()).isEqualTo(1);
+          assertThat(healthChecks.stats("/").getCacheHits()).isEqualTo(1);
+          assertThat(healthChecks.stats("missing")).isNull();
+        });
+      }));
+  }
+
+  @Test
+  public void testGroupCacheTtlConfiguredAfterRegistration(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    healthChecks.register("late/foo", promise -> {
+      invocations.incrementAndGet();
+      promise.complete(Status.OK());
+    });
+
+    healthChecks.checkStatus()
+      .compose(res -> {
+        healthChecks.configureGroup("late", new GroupOptions().setCacheTtl(10000));
+        return healthChecks.checkStatus();
+      })
+      .compose(res -> healthChecks.checkStatus())
+      .compose(res -> {
+        healthChecks.configureGroup("late", new GroupOptions().setCacheTtl(0));
+        return healthChecks.checkStatus();
+      })
+      .onComplete(tc.asyncAssertSuccess(res -> tc.verify(v -> {
+        // The TTL applies to the registered procedure, and stops applying once reset
+        assertThat(invocations.get()).isEqualTo(3);
+        assertThat(healthChecks.stats("late/foo").getCacheHits()).isEqualTo(1);
+      })));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConfiguringAProcedureAsAGroup() {
+    healthChecks.register("foo", promise -> promise.complete(Status.OK()));
+    healthChecks.configureGroup("foo", new GroupOptions());
+  }
+
+  @Test
+  public void testBackgroundEvaluation(TestContext tc) {
+    HealthChecks background = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setBackgroundEvaluation(true)
+      .setRefreshInterval(10));
+    AtomicInteger invocations = new AtomicInteger();
+    background
+      .register("sub/A", promise -> {
+        invocations.incrementAndGet();
+        promise.complete(Status.OK());
+      })
+      .register("B", new ProcedureOptions().setRefreshInterval(20), promise -> promise.complete(Status.KO()));
+
+    Async async = tc.async();
+    vertx.setPeriodic(10, id -> background.checkStatus().onComplete(tc.asyncAssertSuccess(res -> {
+      if (res.getChecks().size() == 2 && !res.toJson().encode().contains("pending")) {
+        vertx.cancelTimer(id);
+        tc.verify(v -> {
+          assertThat(invocations.get()).isGreaterThan(0);
+          assertThatCheck(res).isDown()
+            .hasAndGetCheck("sub").isUp().done()
+            .hasAndGetCheck("B").isDown().done();
+        });
+        background.checkStatus("sub/A").onComplete(tc.asyncAssertSuccess(leaf -> {
+          tc.verify(v -> assertThatCheck(leaf).isUp());
+          // Stops the refresh timers
+          background.close().onComplete(tc.asyncAssertSuccess(x -> async.complete()));
+        }));
+      }
+    })));
+  }
+
+  @Test
+  public void testBackgroundEvaluationDoesNotInvokeProcedures(TestContext tc) {
+    HealthChecks background = HealthChecks.create(vertx, new HealthChecksOptions()
+      .setBackgroundEvaluation(true)
+      .setRefreshInterval(3600000));
+    AtomicInteger invocations = new AtomicInteger();
+    background.register("foo", promise -> {
+      invocations.incrementAndGet();
+      promise.complete(Status.OK());
+    });
+
+    background.checkStatus().onComplete(tc.asyncAssertSuccess(res -> {
+      tc.verify(v -> {
+        assertThat(invocations.get()).isEqualTo(0);
+        assertThatCheck(res).isDown()
+          .hasAndGetCheck("foo").isDown().hasData("pending", true).done();
+      });
+      background.close().onComplete(tc.asyncAssertSuccess());
+    }));
+  }
+
+  @Test
+  public void testConcurrentEvaluationsAreCoalesced(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    healthChecks.register("sub/foo", promise -> {
+      invocations.incrementAndGet();
+      vertx.setTimer(100, id -> promise.complete(Status.OK()));
+    });
+
+    Async async = tc.async(6);
+    for (int i = 0; i < 5; i++) {
+      healthChecks.checkStatus().onComplete(tc.asyncAssertSuccess(res -> {
+        tc.verify(v -> assertThatCheck(res).isUp());
+        async.countDown();
+      }));
+    }
+    healthChecks.checkStatus("/sub").onComplete(tc.asyncAssertSuccess(res -> async.countDown()));
+    async.awaitSuccess();
+
+    assertThat(invocations.get()).isEqualTo(2);
+    ProcedureStats stats = healthChecks.stats("/");
+    assertThat(stats.getEvaluations()).isEqualTo(1);
+    assertThat(stats.getEvaluationCallers()).isEqualTo(5);
+    stats = healthChecks.stats("sub");
+    assertThat(stats.getEvaluations()).isEqualTo(1);
+    assertThat(stats.getEvaluationCallers()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRetrievingAfterReRegistration(TestContext tc) {
+    healthChecks
+      .register("sub2/c/C1", promise -> promise.complete(Status.OK()))
+      .register("sub2/c/C2", promise -> promise.complete(Status.KO()))
+      .unregister("sub2/c")
+      .register("sub2/c", promise -> promise.complete(Status.OK()));
+
+    Async async = tc.async(3);
+
+    healthChecks.checkStatus("sub2/c/C1").onComplete(tc.asyncAssertFailure(t -> async.countDown()));
+
+    healthChecks.checkStatus("sub2/c").map(CheckResult::toJson).onComplete(tc.asyncAssertSuccess(json -> {
+      tc.verify(v -> assertThatCheck(json).isUp().hasStatusUp());
+      async.countDown();
+    }));
+
+    healthChecks.checkStatus("/sub2/c/").map(CheckResult::toJson).onComplete(tc.asyncAssertSuccess(json -> {
+      tc.verify(v -> assertThatCheck(json).isUp().hasStatusUp());
+      async.countDown();
+    }));
+  }
+
+  @Test
+  public void testBlockingProcedures(TestContext tc) {
+    healthChecks
+      .registerBlocking("up", 1000, () -> {
+        tc.assertFalse(Context.isOnEventLoopThread());
+        Thread.sleep(10);
+        return Status.OK();
+      })
+      .registerBlocking("null", 1000, () -> null)
+      .registerBlocking("failing", 1000, () -> {
+        throw new IllegalStateException("BOOM");
+      })
+      .registerBlocking("slow", 100, () -> {
+        Thread.sleep(1000);
+        return Status.OK();
+      });
+
+    Context context = vertx.getOrCreateContext();
+    Async async = tc.async();
+    context.runOnContext(v -> healthChecks.checkStatus().onComplete(tc.asyncAssertSuccess(res -> {
+      tc.verify(v2 -> {
+        // Results are delivered on the calling context
+        assertThat(Vertx.currentContext()).isSameAs(context);
+        assertThatCheck(res).isDown()
+          .hasAndGetCheck("up").isUp().done()
+          .hasAndGetCheck("null").isUp().done()
+          .hasAndGetCheck("failing").isDown().hasData("cause", "BOOM")
+            .hasData("procedure-execution-failure", true).done()
+          .hasAndGetCheck("slow").isDown().hasData("cause", "Timeout").done();
+      });
+      async.complete();
+    })));
+  }
+
+  @Test
+  public void testGroupWorkerPool(TestContext tc) {
+    healthChecks.configureGroup("external", new GroupOptions()
+      .setWorkerPoolName("external-checks")
+      .setWorkerPoolSize(1)
+      .setMaxWorkerQueueSize(1));
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < 3; i++) {
+      healthChecks.registerBlocking("external/slow-" + i, 1000, () -> {
+        tc.assertTrue(Thread.currentThread().getName().startsWith("external-checks"));
+        release.await();
+        return Status.OK();
+      });
+    }
+    healthChecks.register("fast", promise -> promise.complete(Status.OK()));
+
+    Async async = tc.async();
+    // The fast procedure completes while the workers are busy
+    healthChecks.checkStatus("fast").onComplete(tc.asyncAssertSuccess(fast -> {
+      tc.verify(v -> assertThatCheck(fast).isUp());
+      healthChecks.checkStatus("external").onComplete(tc.asyncAssertSuccess(res -> {
+        tc.verify(v -> {
+          // A worker and a queue slot, the third procedure is rejected
+          assertThatCheck(res).isDown()
+            .hasAndGetCheck("slow-0").isUp().done()
+            .hasAndGetCheck("slow-1").isUp().done()
+            .hasAndGetCheck("slow-2").isDown().hasData("cause", "The worker pool `external-checks` is saturated").done();
+        });
+        async.complete();
+      }));
+      release.countDown();
+    }));
+  }
+
+  @Test
+  public void testGroupWorkerPoolConfiguredAfterRegistration(TestContext tc) {
+    healthChecks.register("late/foo", promise -> promise.complete(
+      Thread.currentThread().getName().startsWith("late-checks") ? Status.OK() : Status.KO()));
+    healthChecks.configureGroup("late", new GroupOptions().setWorkerPoolName("late-checks"));
+
+    healthChecks.checkStatus("late").onComplete(tc.asyncAssertSuccess(res ->
+      tc.verify(v -> assertThatCheck(res).isUp())));
+  }
+
+  @Test
+  public void testWorkerPoolIsScopedToTheInstance(TestContext tc) {
+    // A shared pool of the application with the same name does not set the size of the group pool
+    WorkerExecutor application = vertx.createSharedWorkerExecutor("scoped-checks", 1);
+    healthChecks.configureGroup("scoped", new GroupOptions().setWorkerPoolName("scoped-checks").setWorkerPoolSize(2));
+    CountDownLatch started = new CountDownLatch(2);
+    for (String name : Arrays.asList("scoped/a", "scoped/b")) {
+      healthChecks.registerBlocking(name, 10000, () -> {
+        started.countDown();
+        // Both procedures run at the same time on the pool of the group
+        boolean concurrent = started.await(5, TimeUnit.SECONDS);
+        return concurrent && Thread.currentThread().getName().startsWith("scoped-checks@") ? Status.OK() : Status.KO();
+      });
+    }
+
+    healthChecks.checkStatus("scoped").onComplete(tc.asyncAssertSuccess(res -> {
+      tc.verify(v -> assertThatCheck(res).isUp());
+      application.close();
+    }));
+  }
+
+  @Test
+  public void testSharedWorkerPoolCannotBeResized(TestContext tc) {
+    GroupOptions options = new GroupOptions().setWorkerPoolName("shared-checks").setWorkerPoolSize(1);
+    healthChecks.configureGroup("a", options);
+    healthChecks.configureGroup("b", options);
+    try {
+      healthChecks.configureGroup("b", new GroupOptions(options).setWorkerPoolSize(2));
+      tc.fail("The shared pool should not be resized");
+    } catch (IllegalArgumentException expected) {
+      // Expected
+    }
+    // Once the other group is unregistered, the pool can be resized
+    healthChecks.unregister("a");
+    healthChecks.configureGroup("b", new GroupOptions(options).setWorkerPoolSize(2));
+  }
+
+  @Test
+  public void testCircuitBreaker(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    AtomicBoolean failing = new AtomicBoolean(true);
+    healthChecks.register("foo", new ProcedureOptions().setBreakerThreshold(2).setBreakerBackoff(200), promise -> {
+      invocations.incrementAndGet();
+      if (failing.get()) {
+        promise.fail("BOOM");
+      } else {
+        promise.complete(Status.OK());
+      }
+    });
+
+    Async async = tc.async();
+    healthChecks.checkStatus("foo")
+      .compose(res -> healthChecks.checkStatus("foo"))
+      .compose(res -> healthChecks.checkStatus("foo"))
+      .map(CheckResult::toJson)
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          // The breaker opened after two failures, the third evaluation skipped the procedure
+          assertThat(invocations.get()).isEqualTo(2);
+          assertThatCheck(json).isDown().hasData("cause", "BOOM");
+          JsonObject breaker = json.getJsonObject("data").getJsonObject("circuit-breaker");
+          assertThat(breaker.getString("state")).isEqualTo("open");
+          assertThat(breaker.getInteger("failures")).isEqualTo(2);
+          assertThat(breaker.getLong("retry-in")).isBetween(0L, 200L);
+        });
+        failing.set(false);
+        vertx.setTimer(300, l -> healthChecks.checkStatus("foo")
+          .compose(res -> healthChecks.checkStatus("foo"))
+          .map(CheckResult::toJson)
+          .onComplete(tc.asyncAssertSuccess(json2 -> {
+            tc.verify(v -> {
+              // The trial invocation succeeded and closed the breaker
+              assertThat(invocations.get()).isEqualTo(4);
+              assertThatCheck(json2).isUp();
+            });
+            async.complete();
+          })));
+      }));
+  }
+
+  @Test
+  public void testCircuitBreakerCountsDownStatuses(TestContext tc) {
+    AtomicInteger invocations = new AtomicInteger();
+    healthChecks.register("foo", new ProcedureOptions().setBreakerThreshold(2).setBreakerBackoff(10000), promise -> {
+      invocations.incrementAndGet();
+      promise.complete(Status.KO(new JsonObject().put("cause", "unavailable")));
+    });
+
+    Async async = tc.async();
+    healthChecks.checkStatus("foo")
+      .compose(res -> healthChecks.checkStatus("foo"))
+      .compose(res -> healthChecks.checkStatus("foo"))
+      .onComplete(tc.asyncAssertSuccess(first -> healthChecks.checkStatus("foo")
+        .onComplete(tc.asyncAssertSuccess(second -> {
+          tc.verify(v -> {
+            // The breaker opened after two DOWN statuses
+            assertThat(invocations.get()).isEqualTo(2);
+            assertThatCheck(first).isDown().hasData("cause", "unavailable");
+            // The skipped invocations share their result while the breaker stays open
+            assertThat(second).isSameAs(first);
+          });
+          async.complete();
+        }))));
+  }
+
+  @Test
+  public void testAdaptiveTimeout(TestContext tc) {
+    AtomicBoolean hanging = new AtomicBoolean();
+    healthChecks.register("foo", new ProcedureOptions()
+      .setTimeout(10000)
+      .setAdaptiveTimeoutMultiplier(4)
+      .setMinTimeout(50), promise -> {
+      if (!hanging.get()) {
+        vertx.setTimer(1, l -> promise.complete(Status.OK()));
+      }
+    });
+
+    Future<CheckResult> fut = Future.succeededFuture();
+    for (int i = 0; i < 16; i++) {
+      fut = fut.compose(res -> healthChecks.checkStatus("foo"));
+    }
+    Async async = tc.async();
+    fut.onComplete(tc.asyncAssertSuccess(res -> {
+      hanging.set(true);
+      long start = System.currentTimeMillis();
+      healthChecks.checkStatus("foo").map(CheckResult::toJson).onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).isDown().hasData("cause", "Timeout");
+          // Far below the 10s timeout
+          assertThat(System.currentTimeMillis() - start).isLessThan(2000);
+        });
+        async.complete();
+      }));
+    }));
+  }
+
+  @Test
+  public void testAdaptiveTimeoutRecoversFromLatencyStep(TestContext tc) {
+    AtomicInteger latency = new AtomicInteger(1);
+    healthChecks.register("foo", new ProcedureOptions()
+      .setTimeout(10000)
+      .setAdaptiveTimeoutMultiplier(4)
+      .setMinTimeout(50), promise -> vertx.setTimer(latency.get(), l -> promise.tryComplete(Status.OK())));
+
+    Future<CheckResult> fut = Future.succeededFuture();
+    for (int i = 0; i < 16; i++) {
+      fut = fut.compose(res -> healthChecks.checkStatus("foo"));
+    }
+    Async async = tc.async();
+    fut.onComplete(tc.asyncAssertSuccess(res -> {
+      // The latency steps above the adapted timeout
+      latency.set(150);
+      checkUntilUp(tc, "foo", 10, async);
+    }));
+  }
+
+  private void checkUntilUp(TestContext tc, String name, int attempts, Async async) {
+    healthChecks.checkStatus(name).onComplete(tc.asyncAssertSuccess(res -> {
+      if (res.getUp()) {
+        async.complete();
+      } else if (attempts > 1) {
+        checkUntilUp(tc, name, attempts - 1, async);
+      } else {
+        tc.fail("The procedure is still DOWN");
+      }
+    }));
+  }
+
+  @Test
+  public void testLatencies(TestContext tc) {
+    HealthChecks healthChecks = HealthChecks.create(vertx, new HealthChecksOptions().setLatencyInResults(true));
+    healthChecks.register("group/slow", promise -> vertx.setTimer(20, l -> promise.complete(Status.OK())));
+    healthChecks.register("fast", promise -> promise.complete(Status.OK(new JsonObject().put("foo", "bar"))));
+
+    healthChecks.checkStatus()
+      .compose(res -> healthChecks.checkStatus())
+      .map(CheckResult::toJson)
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          assertThat(json.getJsonObject("data").getDouble("latency")).isGreaterThanOrEqualTo(20d);
+          JsonObject fast = json.getJsonArray("checks").getJsonObject(1);
+          assertThat(fast.getJsonObject("data").getString("foo")).isEqualTo("bar");
+          assertThat(fast.getJsonObject("data").getDouble("latency")).isLessThan(20d);
+
+          ProcedureStats stats = healthChecks.stats("group/slow");
+          assertThat(stats.getLatencyCount()).isEqualTo(2);
+          assertThat(stats.getLatencyP50()).isGreaterThanOrEqualTo(18d);
+          assertThat(stats.getLatencyMax()).isGreaterThanOrEqualTo(stats.getLatencyP99());
+          stats = healthChecks.stats("/");
+          assertThat(stats.getLatencyCount()).isEqualTo(2);
+          assertThat(stats.getLatencyP50()).isGreaterThanOrEqualTo(18d);
+        });
+      }));
+  }
+
+  @Test
+  public void testSubscribe(TestContext tc) {
+    AtomicBoolean up = new AtomicBoolean(true);
+    healthChecks.register("db/primary", promise -> promise.complete(up.get() ? Status.OK() : Status.KO()));
+    healthChecks.register("other", promise -> promise.complete(Status.KO()));
+
+    List<CheckResult> changes = new CopyOnWriteArrayList<>();
+    ReadStream<CheckResult> stream = healthChecks.subscribe("db").handler(changes::add);
+
+    Async async = tc.async();
+    healthChecks.checkStatus()
+      .compose(res -> healthChecks.checkStatus())
+      .compose(res -> delay(50))
+      .compose(v -> {
+        tc.verify(v2 -> {
+          // The first evaluation is a change, the second one is not
+          assertThat(changes).extracting(CheckResult::getId).containsExactly("db", "db/primary");
+          assertThat(changes).allMatch(CheckResult::getUp);
+        });
+        changes.clear();
+        up.set(false);
+        return healthChecks.checkStatus();
+      })
+      .compose(res -> delay(50))
+      .compose(v -> {
+        tc.verify(v2 -> {
+          assertThat(changes).extracting(CheckResult::getId).containsExactly("db", "db/primary");
+          assertThat(changes).noneMatch(CheckResult::getUp);
+        });
+        changes.clear();
+        stream.pause();
+        up.set(true);
+        return healthChecks.checkStatus();
+      })
+      .compose(res -> {
+        up.set(false);
+        return healthChecks.checkStatus();
+      })
+      .compose(res -> delay(50))
+      .onComplete(tc.asyncAssertSuccess(v -> {
+        tc.verify(v2 -> assertThat(changes).isEmpty());
+        stream.fetch(1);
+        vertx.setTimer(50, l -> {
+          tc.verify(v2 -> {
+            // Paused changes are conflated by path, only the latest status is emitted
+            assertThat(changes).hasSize(1);
+            assertThat(changes.get(0).getId()).isEqualTo("db");
+            assertThat(changes.get(0).getUp()).isFalse();
+          });
+          async.complete();
+        });
+      }));
+  }
+
+  @Test
+  public void testSubscriptionHandlerReplaced(TestContext tc) {
+    healthChecks.register("db", promise -> promise.complete(Status.OK()));
+
+    List<CheckResult> changes = new CopyOnWriteArrayList<>();
+    ReadStream<CheckResult> stream = healthChecks.subscribe("db")
+      .handler(res -> tc.fail("Replaced handler"))
+      .handler(changes::add);
+
+    Async async = tc.async();
+    healthChecks.checkStatus()
+      .compose(res -> delay(50))
+      .onComplete(tc.asyncAssertSuccess(v -> {
+        // Replacing the handler does not register the subscription twice
+        tc.verify(v2 -> assertThat(changes).extracting(CheckResult::getId).containsExactly("db"));
+        stream.handler(null);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void testIsUp(TestContext tc) {
+    AtomicBoolean up = new AtomicBoolean(true);
+    healthChecks.register("db/primary", promise -> promise.complete(up.get() ? Status.OK() : Status.KO()));
+    healthChecks.register("db/replica", promise -> promise.complete(Status.OK()));
+    healthChecks.register("cache", promise -> promise.complete(Status.OK()));
+
+    // Not evaluated yet
+    assertThat(healthChecks.isUp("/")).isFalse();
+    assertThat(healthChecks.isUp("db")).isFalse();
+    try {
+      healthChecks.isUp("missing");
+      tc.fail("Unknown procedure");
+    } catch (IllegalArgumentException expected) {
+      // Expected
+    }
+
+    healthChecks.checkStatus()
+      .compose(res -> {
+        tc.verify(v -> {
+          assertThat(healthChecks.isUp("/")).isTrue();
+          assertThat(healthChecks.isUp("db")).isTrue();
+          // Names are normalized as for the subscriptions
+          assertThat(healthChecks.isUp("/db")).isTrue();
+          assertThat(healthChecks.isUp("/db//primary/")).isTrue();
+        });
+        up.set(false);
+        return healthChecks.checkStatus("db/primary");
+      })
+      .onComplete(tc.asyncAssertSuccess(res -> {
+        tc.verify(v -> {
+          assertThat(healthChecks.isUp("/")).isFalse();
+          assertThat(healthChecks.isUp("db")).isFalse();
+          assertThat(healthChecks.isUp("db/primary")).isFalse();
+          assertThat(healthChecks.isUp("db/replica")).isTrue();
+          assertThat(healthChecks.isUp("cache")).isTrue();
+          // Removing the procedure removes it from the counts of its groups
+          healthChecks.unregister("db/primary");
+          assertThat(healthChecks.isUp("db")).isTrue();
+          assertThat(healthChecks.isUp("/")).isTrue();
+        });
+      }));
+  }
+
+  @Test
+  public void testReporter(TestContext tc) {
+    StatusReporter reporter = healthChecks.registerReporter("kafka/consumer", 100);
+
+    Async async = tc.async();
+    healthChecks.checkStatus("kafka/consumer")
+      .map(CheckResult::toJson)
+      .compose(json -> {
+        tc.verify(v -> assertThatCheck(json).isDown().hasData("pending", true));
+        reporter.report(Status.OK(new JsonObject().put("partitions", "4")));
+        return healthChecks.checkStatus();
+      })
+      .map(CheckResult::toJson)
+      .compose(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).isUp()
+            .hasAndGetCheck("kafka").isUp()
+            .hasAndGetCheck("consumer").isUp().hasData("partitions", "4");
+          assertThat(healthChecks.isUp("kafka")).isTrue();
+        });
+        // Not reported again in time
+        return delay(250);
+      })
+      .compose(v -> healthChecks.checkStatus("kafka/consumer"))
+      .map(CheckResult::toJson)
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).isDown().hasData("stale", true);
+          assertThat(healthChecks.isUp("kafka")).isFalse();
+          reporter.report(null);
+          assertThat(healthChecks.isUp("kafka")).isTrue();
+        });
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void testContextAffinity(TestContext tc) {
+    HealthChecks healthChecks = HealthChecks.create(vertx, new HealthChecksOptions().setContextAffinity(true));
+    Context registration = vertx.getOrCreateContext();
+    Context caller = vertx.getOrCreateContext();
+    List<Context> invocations = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    registration.runOnContext(v -> {
+      healthChecks.register("a", promise -> {
+        invocations.add(Vertx.currentContext());
+        promise.complete(Status.OK());
+      });
+      healthChecks.register("group/b", promise -> {
+        invocations.add(Vertx.currentContext());
+        vertx.setTimer(10, l -> promise.complete(Status.OK()));
+      });
+      caller.runOnContext(v2 -> healthChecks.checkStatus().onComplete(tc.asyncAssertSuccess(res -> {
+        tc.verify(v3 -> {
+          assertThat(res.getUp()).isTrue();
+          // The procedures run on their registration context, the result is delivered on the calling context
+          assertThat(invocations).containsExactly(registration, registration);
+          assertThat(Vertx.currentContext()).isSameAs(caller);
+        });
+        async.complete();
+      })));
+    });
+  }
+
+  @Test
+  public void testShards(TestContext tc) {
+    healthChecks.configureGroup("big", new GroupOptions().setShards(4).setShardThreshold(8));
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    for (int i = 0; i < 32; i++) {
+      healthChecks.register("big/p" + i, promise -> {
+        threads.add(Thread.currentThread());
+        promise.complete(Status.OK());
+      });
+    }
+
+    healthChecks.checkStatus("big").onComplete(tc.asyncAssertSuccess(res -> {
+      tc.verify(v -> {
+        assertThat(res.getUp()).isTrue();
+        assertThat(res.getChecks()).hasSize(32);
+        // The results keep the registration order
+        for (int i = 0; i < 32; i++) {
+          assertThat(res.getChecks().get(i).getId()).isEqualTo("p" + i);
+        }
+        assertThat(threads.size()).isGreaterThan(1);
+      });
+    }));
+  }
+
+  @Test
+  public void testQueryOptions(TestContext tc) {
+    healthChecks.register("a/ok", promise -> promise.complete(Status.OK(new JsonObject().put("foo", "bar"))));
+    healthChecks.register("a/ko", promise -> promise.complete(Status.KO(new JsonObject().put("reason", "down"))));
+    healthChecks.register("b/c/ok", promise -> promise.complete(Status.OK()));
+
+    Async async = tc.async();
+    healthChecks.invoke("/", new QueryOptions().setMaxDepth(1))
+      .compose(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).isDown().hasChildren(2)
+            .hasAndGetCheck("a").isDown().done()
+            .hasAndGetCheck("b").isUp().done();
+          assertThat(json.getJsonArray("checks").getJsonObject(0).containsKey("checks")).isFalse();
+        });
+        return healthChecks.invoke("/", new QueryOptions().setOnlyDown(true));
+      })
+      .compose(json -> {
+        tc.verify(v -> assertThatCheck(json).isDown().hasChildren(1)
+          .hasAndGetCheck("a").isDown().hasChildren(1)
+          .hasAndGetCheck("ko").isDown().hasData("reason", "down"));
+        return healthChecks.invoke("a", new QueryOptions().setOmitData(true));
+      })
+      .compose(json -> {
+        tc.verify(v -> assertThatCheck(json).isDown().hasChildren(2)
+          .hasAndGetCheck("ok").isUp().hasNoData().done()
+          .hasAndGetCheck("ko").isDown().hasNoData());
+        return healthChecks.invoke("/", new QueryOptions().setSummaryOnly(true));
+      })
+      .onComplete(tc.asyncAssertSuccess(json -> {
+        tc.verify(v -> {
+          assertThatCheck(json).isDown().hasNoData();
+          assertThat(json.containsKey("checks")).isFalse();
+        });
+        async.complete();
+      }));
+  }
+
+  private Future<Void> delay(long ms) {
+    Promise<Void> promise = Promise.promise();
+    vertx.setTimer(ms, l -> promise.complete());
+    return promise.future();
+  }
 }
@@ -0,0 +1,60 @@
+package io.vertx.ext.healthchecks.tests.impl;
+
+import io.vertx.ext.healthchecks.impl.AdaptiveTimeout;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveTimeoutTest {
+
+  private static void record(AdaptiveTimeout timeout, long millis, int times) {
+    for (int i = 0; i < times; i++) {
+      timeout.record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+  }
+
+  @Test
+  public void testTimeoutFollowsThePercentile() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(2, 90, 10, 1000);
+    // The upper bound is used until enough latencies are recorded
+    assertThat(timeout.timeout()).isEqualTo(1000);
+
+    record(timeout, 50, 64);
+    assertThat(timeout.timeout()).isEqualTo(100);
+
+    // A few slow invocations do not move the 90th percentile
+    record(timeout, 300, 6);
+    record(timeout, 50, 2);
+    assertThat(timeout.timeout()).isEqualTo(100);
+
+    // Older latencies leave the window
+    record(timeout, 20, 64);
+    assertThat(timeout.timeout()).isEqualTo(40);
+  }
+
+  @Test
+  public void testTimeoutIsBounded() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(3, 99, 10, 1000);
+    record(timeout, 1, 64);
+    assertThat(timeout.timeout()).isEqualTo(10);
+    record(timeout, 800, 64);
+    assertThat(timeout.timeout()).isEqualTo(1000);
+  }
+
+  @Test
+  public void testTimeoutsMoveTheTimeoutTowardTheUpperBound() {
+    AdaptiveTimeout timeout = new AdaptiveTimeout(2, 90, 10, 1000);
+    record(timeout, 50, 64);
+    assertThat(timeout.timeout()).isEqualTo(100);
+
+    timeout.timedOut(100);
+    assertThat(timeout.timeout()).isEqualTo(200);
+    timeout.timedOut(200);
+    assertThat(timeout.timeout()).isEqualTo(400);
+    timeout.timedOut(400);
+    timeout.timedOut(800);
+    assertThat(timeout.timeout()).isEqualTo(1000);
+  }
+}
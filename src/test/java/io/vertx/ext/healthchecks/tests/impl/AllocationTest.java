@@ -0,0 +1,123 @@
+package io.vertx.ext.healthchecks.tests.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.ProcedureOptions;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.impl.DefaultCompositeProcedure;
+import io.vertx.ext.healthchecks.impl.DefaultProcedure;
+import io.vertx.ext.healthchecks.impl.TimeoutWheel;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the bytes allocated by the evaluation of a tree whose procedures complete synchronously, so the whole
+ * evaluation runs on the test thread.
+ */
+public class AllocationTest {
+
+  private static final int GROUPS = 10;
+  private static final int ROUNDS = 10_000;
+
+  private Vertx vertx;
+  private com.sun.management.ThreadMXBean threads;
+  private TimeoutWheel timeouts;
+  // Keeps the measured objects reachable, so they are not optimized away
+  private volatile Object sink;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    timeouts = new TimeoutWheel(vertx, 10);
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Test
+  public void testSteadyStateAllocations() {
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+    // What each leaf allocates whatever the engine does: the promise given to the procedure, its completion and the
+    // status created by the procedure
+    Handler<Promise<Status>> procedure = promise -> promise.complete(Status.OK());
+    Handler<AsyncResult<Status>> consumer = ar -> sink = ar;
+    long inherent = measure(() -> {
+      Promise<Status> promise = Promise.promise();
+      promise.future().onComplete(consumer);
+      procedure.handle(promise);
+    });
+
+    DefaultCompositeProcedure small = tree(10, procedure);
+    DefaultCompositeProcedure large = tree(40, procedure);
+    long smallRound = evaluate(small);
+    long largeRound = evaluate(large);
+
+    // An unchanged round allocates a fixed amount on top of what the procedures allocate, it does not grow with the
+    // number of leaves
+    long addedLeaves = GROUPS * (40 - 10);
+    long perAddedLeaf = (largeRound - smallRound) / addedLeaves;
+    assertThat(perAddedLeaf - inherent).isLessThan(16L);
+    assertThat(smallRound - GROUPS * 10 * inherent).isLessThan(2048L);
+  }
+
+  private DefaultCompositeProcedure tree(int leaves, Handler<Promise<Status>> procedure) {
+    DefaultCompositeProcedure root = new DefaultCompositeProcedure();
+    for (int g = 0; g < GROUPS; g++) {
+      DefaultCompositeProcedure group = new DefaultCompositeProcedure();
+      for (int i = 0; i < leaves; i++) {
+        group.add("p" + i, new DefaultProcedure(vertx, "p" + i, new ProcedureOptions(),
+          new DefaultProcedure.Dispatch().setTimeouts(timeouts), procedure));
+      }
+      root.add("g" + g, group);
+    }
+    return root;
+  }
+
+  /**
+   * @return the bytes allocated by a steady-state evaluation of the tree
+   */
+  private long evaluate(DefaultCompositeProcedure root) {
+    AtomicReference<CheckResult> last = new AtomicReference<>();
+    Handler<CheckResult> handler = last::set;
+    for (int i = 0; i < 20_000; i++) {
+      root.check(handler);
+    }
+    CheckResult warm = last.get();
+    long allocated = measure(() -> root.check(handler));
+
+    assertThat(last.get().getUp()).isTrue();
+    // Unchanged outcomes reuse the previous results, which are read-only
+    assertThat(last.get()).isSameAs(warm);
+    assertThat(last.get().isFrozen()).isTrue();
+    return allocated;
+  }
+
+  /**
+   * @return the bytes allocated by a run of the task, averaged over warmed-up runs
+   */
+  private long measure(Runnable task) {
+    for (int i = 0; i < 20_000; i++) {
+      task.run();
+    }
+    long threadId = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ROUNDS; i++) {
+      task.run();
+    }
+    return (threads.getThreadAllocatedBytes(threadId) - before) / ROUNDS;
+  }
+}
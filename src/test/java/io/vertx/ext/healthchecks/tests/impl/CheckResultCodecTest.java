@@ -0,0 +1,73 @@
+package io.vertx.ext.healthchecks.tests.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.CheckResult;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.ext.healthchecks.impl.CheckResultCodec;
+import io.vertx.ext.healthchecks.impl.ProcedureException;
+import io.vertx.ext.healthchecks.impl.StatusCodec;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckResultCodecTest {
+
+  @Test
+  public void testWireRoundTrip() {
+    CheckResult result = new CheckResult().setChecks(Arrays.asList(
+      CheckResult.from("ok", Status.OK(new JsonObject().put("foo", "bär").put("count", 3))).setLatency(1_500_000),
+      CheckResult.from("error", Status.KO().setProcedureInError(true)),
+      CheckResult.from("timeout", new ProcedureException("Timeout")),
+      CheckResult.from("boom", new IllegalStateException("Boom")),
+      new CheckResult().setId("group").setChecks(Collections.singletonList(CheckResult.from("nested", Status.OK())))
+    ));
+
+    CheckResultCodec codec = new CheckResultCodec();
+    Buffer buffer = Buffer.buffer("prefix");
+    codec.encodeToWire(buffer, result);
+    CheckResult decoded = codec.decodeFromWire("prefix".length(), buffer);
+
+    assertThat(decoded.toJson()).isEqualTo(result.toJson());
+    assertThat(decoded.getChecks().get(0).getLatency()).isEqualTo(1_500_000);
+    assertThat(decoded.getChecks().get(2).getFailure()).isInstanceOf(ProcedureException.class);
+    // The binary form is smaller than the JSON form
+    assertThat(buffer.length() - "prefix".length()).isLessThan(result.toJson().toBuffer().length());
+  }
+
+  @Test
+  public void testStatusRoundTrip() {
+    StatusCodec codec = new StatusCodec();
+    Status status = Status.KO(new JsonObject().put("reason", "down")).setProcedureInError(true);
+    Buffer buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, status);
+    assertThat(codec.decodeFromWire(0, buffer).toJson()).isEqualTo(status.toJson());
+  }
+
+  @Test
+  public void testLocalDeliveryByReference() {
+    CheckResult result = CheckResult.from("foo", Status.OK()).freeze();
+    assertThat(new CheckResultCodec().transform(result)).isSameAs(result);
+    Status status = Status.OK().freeze();
+    assertThat(new StatusCodec().transform(status)).isSameAs(status);
+  }
+
+  @Test
+  public void testLocalDeliveryCopiesWritableResults() {
+    CheckResult result = new CheckResult().setChecks(Collections.singletonList(
+      CheckResult.from("foo", Status.OK(new JsonObject().put("count", 1)))));
+    CheckResult copy = new CheckResultCodec().transform(result);
+    assertThat(copy).isNotSameAs(result);
+    assertThat(copy.toJson()).isEqualTo(result.toJson());
+    result.getChecks().get(0).getStatus().getData().put("count", 2);
+    assertThat(copy.getChecks().get(0).getStatus().getData().getInteger("count")).isEqualTo(1);
+
+    Status status = Status.KO(new JsonObject().put("reason", "down"));
+    Status copied = new StatusCodec().transform(status);
+    assertThat(copied).isNotSameAs(status);
+    assertThat(copied.toJson()).isEqualTo(status.toJson());
+  }
+}
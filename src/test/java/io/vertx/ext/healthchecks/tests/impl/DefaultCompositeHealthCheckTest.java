@@ -2,9 +2,11 @@ package io.vertx.ext.healthchecks.tests.impl;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.GroupOptions;
 import io.vertx.ext.healthchecks.Status;
 import io.vertx.ext.healthchecks.impl.DefaultCompositeProcedure;
 import io.vertx.ext.healthchecks.impl.DefaultProcedure;
+import io.vertx.ext.healthchecks.impl.TimeoutWheel;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -13,6 +15,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static io.vertx.ext.healthchecks.tests.Assertions.assertThatCheck;
 
 /**
@@ -143,4 +148,163 @@ public class DefaultCompositeHealthCheckTest {
       async.complete();
     }));
   }
+
+  @Test
+  public void testEvaluationSeesAConsistentViewOfTheChildren(TestContext tc) {
+    DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+    composite.add("A", new DefaultProcedure(vertx, "A", 1000, future -> {
+      // Registration changes during the evaluation are not visible to it
+      composite.remove("B");
+      composite.add("C", new DefaultProcedure(vertx, "C", 1000, f -> f.complete(Status.KO())));
+      future.complete(Status.OK());
+    }));
+    composite.add("B", new DefaultProcedure(vertx, "B", 1000, future -> future.complete(Status.OK())));
+
+    Async async = tc.async();
+
+    composite.check(json -> tc.verify(v -> {
+      assertThatCheck(json).hasOutcomeUp()
+        .hasChildren(2)
+        .hasAndGetCheck("A").done()
+        .hasAndGetCheck("B").done();
+      tc.assertNull(composite.get("B"));
+      tc.assertNotNull(composite.get("C"));
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testFailFast(TestContext tc) {
+    DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+    composite.setOptions(new GroupOptions().setFailFast(true));
+    // Never completes before its timeout
+    composite.add("A", new DefaultProcedure(vertx, "A", 10000, future -> { }));
+    composite.add("B", new DefaultProcedure(vertx, "B", 10000, future -> future.complete(Status.KO())));
+
+    Async async = tc.async();
+
+    composite.check(json -> tc.verify(v -> {
+      assertThatCheck(json).hasOutcomeDown()
+        .hasChildren(2)
+        .hasAndGetCheck("A").isDown().hasData("pending", true).done()
+        .hasAndGetCheck("B").isDown().done();
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testCheapestFirst(TestContext tc) {
+    AtomicInteger costly = new AtomicInteger();
+    AtomicBoolean down = new AtomicBoolean();
+    DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+    composite.add("costly", new DefaultProcedure(vertx, "costly", 1000, future -> {
+      costly.incrementAndGet();
+      vertx.setTimer(50, l -> future.complete(Status.OK()));
+    }));
+    composite.add("cheap", new DefaultProcedure(vertx, "cheap", 1000,
+      future -> future.complete(down.get() ? Status.KO() : Status.OK())));
+
+    Async async = tc.async();
+
+    composite.check(first -> {
+      // The costs are known after a first evaluation
+      composite.setOptions(new GroupOptions().setFailFast(true).setCheapestFirst(true));
+      down.set(true);
+      composite.check(json -> tc.verify(v -> {
+        assertThatCheck(json).hasOutcomeDown()
+          .hasAndGetCheck("costly").hasData("pending", true).done();
+        tc.assertEquals(1, costly.get());
+        async.complete();
+      }));
+    });
+  }
+
+  @Test
+  public void testCheapestFirstKeepsConcurrency(TestContext tc) {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger max = new AtomicInteger();
+    DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+    composite.setOptions(new GroupOptions().setCheapestFirst(true));
+    for (int i = 0; i < 5; i++) {
+      String name = "P" + i;
+      composite.add(name, new DefaultProcedure(vertx, name, 1000, future -> {
+        max.accumulateAndGet(running.incrementAndGet(), Math::max);
+        vertx.setTimer(20, l -> {
+          running.decrementAndGet();
+          future.complete(Status.OK());
+        });
+      }));
+    }
+
+    Async async = tc.async();
+
+    composite.check(json -> tc.verify(v -> {
+      assertThatCheck(json).hasOutcomeUp().hasChildren(5);
+      // Without fail-fast, the ordering does not serialize the group
+      tc.assertEquals(5, max.get());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testMaxConcurrency(TestContext tc) {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger max = new AtomicInteger();
+    DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+    composite.setOptions(new GroupOptions().setMaxConcurrency(3));
+    for (int i = 0; i < 20; i++) {
+      String name = "P" + i;
+      composite.add(name, new DefaultProcedure(vertx, name, 1000, future -> {
+        max.accumulateAndGet(running.incrementAndGet(), Math::max);
+        vertx.setTimer(5, l -> {
+          running.decrementAndGet();
+          future.complete(Status.OK());
+        });
+      }));
+    }
+    // Procedures completing synchronously
+    for (int i = 0; i < 1000; i++) {
+      String name = "S" + i;
+      composite.add(name, new DefaultProcedure(vertx, name, 1000, future -> future.complete(Status.OK())));
+    }
+
+    Async async = tc.async();
+
+    composite.check(json -> tc.verify(v -> {
+      assertThatCheck(json).hasOutcomeUp().hasChildren(1020);
+      tc.assertEquals(3, max.get());
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testGroupTimeout(TestContext tc) {
+    AtomicInteger started = new AtomicInteger();
+    DefaultCompositeProcedure composite = new DefaultCompositeProcedure(false, false, new TimeoutWheel(vertx, 10));
+    composite.setOptions(new GroupOptions().setMaxConcurrency(1).setTimeout(150));
+    for (int i = 0; i < 5; i++) {
+      String name = "P" + i;
+      composite.add(name, new DefaultProcedure(vertx, name, 1000, future -> {
+        started.incrementAndGet();
+        vertx.setTimer(100, l -> future.complete(Status.OK()));
+      }));
+    }
+
+    Async async = tc.async();
+    long start = System.nanoTime();
+
+    composite.check(json -> tc.verify(v -> {
+      // Without the group timeout, the evaluation would last 500 ms
+      tc.assertTrue(System.nanoTime() - start < 400_000_000L);
+      assertThatCheck(json).hasOutcomeDown().hasChildren(5)
+        .hasAndGetCheck("P0").hasOutcomeUp().done()
+        .hasAndGetCheck("P1").hasData("pending", true).done()
+        .hasAndGetCheck("P4").hasData("pending", true).done();
+      // The queued procedures are not started once the group timed out
+      vertx.setTimer(200, l -> tc.verify(w -> {
+        tc.assertEquals(2, started.get());
+        async.complete();
+      }));
+    }));
+  }
 }
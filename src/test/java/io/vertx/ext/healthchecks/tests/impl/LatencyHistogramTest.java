@@ -0,0 +1,61 @@
+package io.vertx.ext.healthchecks.tests.impl;
+
+import io.vertx.ext.healthchecks.impl.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.valueAtPercentile(99)).isEqualTo(0);
+
+    // 1µs to 10ms
+    for (long i = 1; i <= 10_000; i++) {
+      histogram.record(i * 1000);
+    }
+    assertThat(histogram.count()).isEqualTo(10_000);
+    assertThat(histogram.max()).isEqualTo(10_000_000);
+    assertThat((double) histogram.valueAtPercentile(50)).isCloseTo(5_000_000, within(5_000_000 / 16d));
+    assertThat((double) histogram.valueAtPercentile(99)).isCloseTo(9_900_000, within(9_900_000 / 16d));
+    assertThat(histogram.valueAtPercentile(100)).isEqualTo(10_000_000);
+  }
+
+  @Test
+  public void testSmallAndHugeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(0);
+    histogram.record(7);
+    histogram.record(Long.MAX_VALUE);
+    assertThat(histogram.count()).isEqualTo(3);
+    assertThat(histogram.valueAtPercentile(10)).isEqualTo(0);
+    assertThat(histogram.valueAtPercentile(50)).isEqualTo(7);
+    assertThat(histogram.valueAtPercentile(100)).isEqualTo((1L << 36) - 1);
+  }
+
+  @Test
+  public void testConcurrentRecording() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 100_000; i++) {
+          histogram.record(i);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(histogram.count()).isEqualTo(400_000);
+    assertThat(histogram.max()).isEqualTo(99_999);
+  }
+}
@@ -0,0 +1,142 @@
+package io.vertx.ext.healthchecks.tests.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.impl.TimeoutWheel;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class TimeoutWheelTest {
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testCancelledTimeoutsDoNotFire(TestContext tc) {
+    TimeoutWheel wheel = new TimeoutWheel(vertx, 10);
+    AtomicInteger fired = new AtomicInteger();
+    Async async = tc.async(500);
+    Async done = tc.async();
+
+    List<TimeoutWheel.Timeout> timeouts = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int idx = i;
+      TimeoutWheel.Timeout timeout = new TimeoutWheel.Timeout(() -> {
+        tc.assertTrue(idx % 2 == 1);
+        fired.incrementAndGet();
+        async.countDown();
+      });
+      timeouts.add(timeout);
+      wheel.schedule(timeout, 50 + i % 100);
+    }
+    for (int i = 0; i < timeouts.size(); i += 2) {
+      tc.assertTrue(wheel.cancel(timeouts.get(i)));
+    }
+    // Cancelling twice is a no-op
+    tc.assertFalse(wheel.cancel(timeouts.get(0)));
+
+    async.handler(ar -> vertx.setTimer(200, l -> {
+      tc.assertEquals(500, fired.get());
+      done.complete();
+    }));
+  }
+
+  @Test
+  public void testTimeoutCanBeRescheduledOnceExpired(TestContext tc) {
+    TimeoutWheel wheel = new TimeoutWheel(vertx, 10);
+    Async async = tc.async(2);
+    TimeoutWheel.Timeout[] timeout = new TimeoutWheel.Timeout[1];
+    timeout[0] = new TimeoutWheel.Timeout(() -> {
+      async.countDown();
+      if (async.count() == 1) {
+        wheel.schedule(timeout[0], 10);
+      }
+    });
+    wheel.schedule(timeout[0], 10);
+  }
+
+  @Test
+  public void testClosedWheelDoesNotFire(TestContext tc) {
+    TimeoutWheel wheel = new TimeoutWheel(vertx, 10);
+    AtomicInteger fired = new AtomicInteger();
+    // An earlier timeout supersedes the armed timer
+    wheel.schedule(new TimeoutWheel.Timeout(fired::incrementAndGet), 100);
+    wheel.schedule(new TimeoutWheel.Timeout(fired::incrementAndGet), 50);
+    wheel.close();
+    wheel.schedule(new TimeoutWheel.Timeout(fired::incrementAndGet), 10);
+
+    Async async = tc.async();
+    vertx.setTimer(200, l -> {
+      tc.assertEquals(0, fired.get());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testConcurrentScheduling(TestContext tc) throws Exception {
+    TimeoutWheel wheel = new TimeoutWheel(vertx, 10);
+    int threads = 4;
+    int perThread = 2000;
+    AtomicInteger fired = new AtomicInteger();
+    Async async = tc.async(threads * perThread / 2);
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      workers[t] = new Thread(() -> {
+        for (int i = 0; i < perThread; i++) {
+          boolean kept = i % 2 == 1;
+          TimeoutWheel.Timeout timeout = new TimeoutWheel.Timeout(() -> {
+            tc.assertTrue(kept);
+            fired.incrementAndGet();
+            async.countDown();
+          });
+          wheel.schedule(timeout, 20 + i % 50);
+          if (!kept) {
+            tc.assertTrue(wheel.cancel(timeout));
+          }
+        }
+      });
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    Async done = tc.async();
+    async.handler(ar -> vertx.setTimer(200, l -> {
+      tc.assertEquals(threads * perThread / 2, fired.get());
+      done.complete();
+    }));
+  }
+
+  @Test
+  public void testSchedulingTwiceFails(TestContext tc) {
+    TimeoutWheel wheel = new TimeoutWheel(vertx, 10);
+    TimeoutWheel.Timeout timeout = new TimeoutWheel.Timeout(() -> tc.fail());
+    wheel.schedule(timeout, 1000);
+    try {
+      wheel.schedule(timeout, 1000);
+      tc.fail();
+    } catch (IllegalStateException expected) {
+      // Expected
+    }
+    tc.assertTrue(wheel.cancel(timeout));
+  }
+}
@@ -11,7 +11,9 @@
 open module io.vertx.healthcheck.tests {
   requires assertj.core;
   requires io.vertx.core;
+  requires io.vertx.core.tests;
   requires io.vertx.healthcheck;
   requires io.vertx.testing.unit;
+  requires jdk.management;
   requires junit;
 }